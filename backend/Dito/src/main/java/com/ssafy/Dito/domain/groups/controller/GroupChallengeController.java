@@ -11,6 +11,9 @@ import com.ssafy.Dito.domain.groups.dto.response.JoinGroupRes;
 import com.ssafy.Dito.domain.groups.dto.response.StartChallengeRes;
 import com.ssafy.Dito.domain.groups.service.GroupChallengeService;
 import com.ssafy.Dito.domain.screentime.dto.response.GroupRankingRes;
+import com.ssafy.Dito.domain.screentime.dto.response.RankingStreamEvent;
+import com.ssafy.Dito.domain.screentime.service.GroupRankingBroker;
+import com.ssafy.Dito.domain.screentime.service.GroupRankingVersions;
 import com.ssafy.Dito.domain.screentime.service.ScreenTimeService;
 import com.ssafy.Dito.global.dto.ApiResponse;
 import com.ssafy.Dito.global.dto.CommonResult;
@@ -23,15 +26,27 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 @Tag(name = "Group Challenge", description = "그룹 챌린지 API")
 @RestController
@@ -41,6 +56,10 @@ public class GroupChallengeController {
 
     private final GroupChallengeService groupChallengeService;
     private final ScreenTimeService screenTimeService;
+    private final GroupRankingVersions groupRankingVersions;
+    private final GroupRankingBroker groupRankingBroker;
+
+    private static final int RANKINGS_MAX_GROUPS = 20;
 
     @Operation(
         summary = "그룹 챌린지 생성",
@@ -292,7 +311,8 @@ public class GroupChallengeController {
         description = "그룹 챌린지의 스크린타임 기반 랭킹을 조회합니다.\n\n" +
             "- 챌린지 기간 내 스크린타임 총합 기준\n" +
             "- 스크린타임이 적은 순으로 정렬 (1위 = 가장 적게 사용)\n" +
-            "- 일평균 스크린타임 포함"
+            "- 일평균 스크린타임 포함\n" +
+            "- 응답 ETag 를 If-None-Match 로 보내면 변경이 없을 때 본문 없이 304 반환"
     )
     @ApiResponses({
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -300,6 +320,10 @@ public class GroupChallengeController {
             description = "랭킹 조회 성공",
             content = @Content(schema = @Schema(implementation = GroupRankingRes.class))
         ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "304",
+            description = "변경 없음 (If-None-Match 일치)"
+        ),
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "404",
             description = "그룹을 찾을 수 없음",
@@ -323,13 +347,130 @@ public class GroupChallengeController {
             required = true,
             example = "1"
         )
-        @PathVariable("group_id") Long groupId
+        @PathVariable("group_id") Long groupId,
+        @io.swagger.v3.oas.annotations.Parameter(
+            description = "이전 응답의 ETag (변경이 없으면 304)"
+        )
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
         Long currentUserId = JwtAuthentication.getUserId();
+
+        // 랭킹 계산 전에 버전을 읽어야 계산 중 변경이 다음 조회에서 반영됨
+        String etag = groupRankingVersions.etag(groupId, currentUserId);
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
         GroupRankingRes response = screenTimeService.getGroupRanking(groupId, currentUserId);
+        ResponseEntity<SingleResult<GroupRankingRes>> result = ApiResponse.of(HttpStatus.OK, "랭킹 조회 성공", response);
+        return ResponseEntity.status(result.getStatusCode()).eTag(etag).body(result.getBody());
+    }
+
+    @Operation(
+        summary = "여러 그룹 챌린지 랭킹 일괄 조회",
+        description = "대시보드용으로 여러 그룹의 랭킹을 한 번에 조회합니다. 그룹 ID → 랭킹 Map 을 반환합니다.\n\n" +
+            "- 그룹 정보 / 참여자 / 사용량 / 코스튬을 그룹 수와 무관하게 저장소별로 한 번씩 조회\n" +
+            "- 존재하지 않는 그룹은 결과에서 제외\n" +
+            "- ids 는 최대 " + RANKINGS_MAX_GROUPS + " 개 (초과분은 무시)"
+    )
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "랭킹 조회 성공"
+        )
+    })
+    @GetMapping("/rankings")
+    public ResponseEntity<SingleResult<Map<Long, GroupRankingRes>>> getGroupRankings(
+        @io.swagger.v3.oas.annotations.Parameter(
+            description = "그룹 챌린지 ID 목록",
+            required = true,
+            example = "1,2,3"
+        )
+        @RequestParam("ids") List<Long> ids
+    ) {
+        Long currentUserId = JwtAuthentication.getUserId();
+        List<Long> groupIds = ids.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .limit(RANKINGS_MAX_GROUPS)
+            .toList();
+        Map<Long, GroupRankingRes> response = screenTimeService.getGroupRankings(groupIds, currentUserId);
+        return ApiResponse.of(HttpStatus.OK, "랭킹 조회 성공", response);
+    }
+
+    @Operation(
+        summary = "특정 시각 기준 그룹 챌린지 랭킹 조회",
+        description = "지정한 시각(at) 당시의 랭킹을 스크린타임 기록(Snapshot)으로 재구성합니다. 베팅 결과 확인용입니다.\n\n" +
+            "- 참여자별로 날짜마다 at 이전 마지막 기록을 챌린지 기간 동안 합산\n" +
+            "- 정렬 기준은 현재 랭킹과 동일, 현재 사용 중인 앱 정보는 비어 있음\n" +
+            "- 미래 시각은 현재 시각으로 처리"
+    )
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "랭킹 조회 성공",
+            content = @Content(schema = @Schema(implementation = GroupRankingRes.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "그룹을 찾을 수 없음"
+        )
+    })
+    @GetMapping("/{group_id}/ranking/at")
+    public ResponseEntity<SingleResult<GroupRankingRes>> getGroupRankingAt(
+        @io.swagger.v3.oas.annotations.Parameter(
+            description = "그룹 챌린지 ID",
+            required = true,
+            example = "1"
+        )
+        @PathVariable("group_id") Long groupId,
+        @io.swagger.v3.oas.annotations.Parameter(
+            description = "조회 기준 시각 (ISO-8601)",
+            required = true,
+            example = "2025-01-10T21:00:00"
+        )
+        @RequestParam("at") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        Long currentUserId = JwtAuthentication.getUserId();
+        GroupRankingRes response = screenTimeService.getGroupRankingAt(groupId, currentUserId, at);
         return ApiResponse.of(HttpStatus.OK, "랭킹 조회 성공", response);
     }
 
+    @Operation(
+        summary = "그룹 챌린지 랭킹 실시간 스트림 (SSE)",
+        description = "그룹 랭킹 변경을 Server-Sent Events 로 전달합니다. 폴링 대신 사용합니다.\n\n" +
+            "- ranking: 구독 직후 전체 랭킹 (GroupRankingRes)\n" +
+            "- rank: 순위 / 사용시간이 바뀐 참여자만 (userId, rank, youtubeMinutes, totalMinutes)\n" +
+            "- presence: 현재 사용 중인 앱 변경 (userId, currentAppPackage, currentAppName)\n" +
+            "- 주기적인 주석(ping) 으로 연결 유지, 타임아웃 시 클라이언트가 재연결"
+    )
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "스트림 연결 성공"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "그룹을 찾을 수 없음"
+        )
+    })
+    @GetMapping(value = "/{group_id}/ranking/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamGroupRanking(
+        @io.swagger.v3.oas.annotations.Parameter(
+            description = "그룹 챌린지 ID",
+            required = true,
+            example = "1"
+        )
+        @PathVariable("group_id") Long groupId
+    ) throws IOException {
+        Long currentUserId = JwtAuthentication.getUserId();
+        GroupRankingRes ranking = screenTimeService.getGroupRanking(groupId, currentUserId);
+
+        SseEmitter emitter = groupRankingBroker.subscribe(groupId);
+        emitter.send(SseEmitter.event().name(RankingStreamEvent.RANKING).data(ranking));
+        return emitter;
+    }
+
     @Operation(summary = "로그인한 유저가 참여한 그룹 상세 조회")
     @GetMapping("/detail")
     public ResponseEntity<SingleResult<GroupDetailRes>> getGroupDetail() {
@@ -0,0 +1,27 @@
+package com.ssafy.Dito.domain.groups.dto;
+
+import com.ssafy.Dito.domain.groups.entity.GroupChallenge;
+
+import java.time.LocalDate;
+
+/**
+ * 그룹 챌린지 메타데이터 (캐시용 불변 스냅샷)
+ * 스크린타임 갱신/랭킹 조회에 필요한 필드만 보관
+ */
+public record GroupChallengeMeta(
+    Long id,
+    String status,
+    LocalDate startDate,
+    LocalDate endDate,
+    Integer totalBetCoins
+) {
+    public static GroupChallengeMeta from(GroupChallenge groupChallenge) {
+        return new GroupChallengeMeta(
+            groupChallenge.getId(),
+            groupChallenge.getStatus(),
+            groupChallenge.getStartDate(),
+            groupChallenge.getEndDate(),
+            groupChallenge.getTotalBetCoins()
+        );
+    }
+}
@@ -0,0 +1,42 @@
+package com.ssafy.Dito.domain.groups.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.ssafy.Dito.domain.groups.entity.GroupParticipant;
+import com.ssafy.Dito.domain.groups.entity.QGroupParticipant;
+import com.ssafy.Dito.domain.user.entity.QUser;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class GroupParticipantRankingQueryRepository {
+
+    private final JPAQueryFactory jpaQueryFactory;
+
+    private final QGroupParticipant groupParticipant = QGroupParticipant.groupParticipant;
+    private final QUser user = QUser.user;
+
+    /**
+     * 여러 그룹의 참여자를 사용자와 함께 한 번에 조회 (그룹 수와 무관하게 쿼리 1회)
+     *
+     * @return 그룹 ID → 참여자 목록 (참여자가 없는 그룹은 포함되지 않음)
+     */
+    public Map<Long, List<GroupParticipant>> findAllWithUserByGroupIds(Collection<Long> groupIds) {
+        if (groupIds.isEmpty()) {
+            return Map.of();
+        }
+
+        List<GroupParticipant> participants = jpaQueryFactory
+                .selectFrom(groupParticipant)
+                .join(groupParticipant.id.user, user).fetchJoin()
+                .where(groupParticipant.id.group.id.in(groupIds))
+                .fetch();
+
+        return participants.stream()
+                .collect(Collectors.groupingBy(participant -> participant.getId().getGroup().getId()));
+    }
+}
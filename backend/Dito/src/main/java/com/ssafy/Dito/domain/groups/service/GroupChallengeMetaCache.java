@@ -0,0 +1,143 @@
+package com.ssafy.Dito.domain.groups.service;
+
+import com.ssafy.Dito.domain.groups.dto.GroupChallengeMeta;
+import com.ssafy.Dito.domain.groups.entity.GroupChallenge;
+import com.ssafy.Dito.domain.groups.repository.GroupChallengeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 그룹 챌린지 메타데이터 read-through 캐시
+ * - 스크린타임 갱신(존재 여부 확인)과 랭킹 조회에서 Postgres 조회를 제거
+ * - 존재하지 않는 그룹 ID 도 negative entry 로 캐시
+ * - 최대 maxSize 개 LRU, ttl 경과 시 재조회 (다중 인스턴스 간 변경 반영 상한)
+ * - 생성 / 챌린지 시작 / 베팅 코인 변경 시 트랜잭션 커밋 후 무효화
+ */
+@Component
+public class GroupChallengeMetaCache {
+
+    private final GroupChallengeRepository groupChallengeRepository;
+    private final long ttlMillis;
+    private final Map<Long, CacheEntry> cache;
+
+    public GroupChallengeMetaCache(
+        GroupChallengeRepository groupChallengeRepository,
+        @Value("${groups.meta-cache.max-size:10000}") int maxSize,
+        @Value("${groups.meta-cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.groupChallengeRepository = groupChallengeRepository;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CacheEntry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * 그룹 메타데이터 조회 (miss 시 Postgres 조회 후 캐시)
+     */
+    public Optional<GroupChallengeMeta> get(Long groupId) {
+        CacheEntry entry = lookup(groupId);
+        if (entry != null) {
+            return Optional.ofNullable(entry.meta());
+        }
+
+        GroupChallengeMeta meta = groupChallengeRepository.findById(groupId)
+            .map(GroupChallengeMeta::from)
+            .orElse(null);
+        put(groupId, meta);
+        return Optional.ofNullable(meta);
+    }
+
+    public boolean exists(Long groupId) {
+        return get(groupId).isPresent();
+    }
+
+    /**
+     * 여러 그룹 메타데이터 일괄 조회 (miss 는 findAllById 한 번으로 적재)
+     *
+     * @return 존재하는 그룹만 담은 Map
+     */
+    public Map<Long, GroupChallengeMeta> getAll(Collection<Long> groupIds) {
+        Map<Long, GroupChallengeMeta> result = new HashMap<>();
+        Set<Long> misses = new HashSet<>();
+
+        for (Long groupId : groupIds) {
+            CacheEntry entry = lookup(groupId);
+            if (entry == null) {
+                misses.add(groupId);
+            } else if (entry.meta() != null) {
+                result.put(groupId, entry.meta());
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            for (GroupChallenge groupChallenge : groupChallengeRepository.findAllById(misses)) {
+                GroupChallengeMeta meta = GroupChallengeMeta.from(groupChallenge);
+                result.put(meta.id(), meta);
+                put(meta.id(), meta);
+                misses.remove(meta.id());
+            }
+            misses.forEach(groupId -> put(groupId, null));
+        }
+        return result;
+    }
+
+    /**
+     * 캐시 무효화
+     * 트랜잭션 안에서 호출되면 커밋 이후에 제거 (커밋 전 재적재로 stale 값이 남는 것 방지)
+     */
+    public void invalidate(Long groupId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remove(groupId);
+                }
+            });
+        } else {
+            remove(groupId);
+        }
+    }
+
+    private CacheEntry lookup(Long groupId) {
+        CacheEntry entry;
+        synchronized (cache) {
+            entry = cache.get(groupId);
+        }
+        if (entry == null || System.currentTimeMillis() - entry.loadedAt() > ttlMillis) {
+            return null;
+        }
+        return entry;
+    }
+
+    private void put(Long groupId, GroupChallengeMeta meta) {
+        synchronized (cache) {
+            cache.put(groupId, new CacheEntry(meta, System.currentTimeMillis()));
+        }
+    }
+
+    private void remove(Long groupId) {
+        synchronized (cache) {
+            cache.remove(groupId);
+        }
+    }
+
+    /**
+     * meta == null 이면 존재하지 않는 그룹 (negative entry)
+     */
+    private record CacheEntry(GroupChallengeMeta meta, long loadedAt) {
+    }
+}
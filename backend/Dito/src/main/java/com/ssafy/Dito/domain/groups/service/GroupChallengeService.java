@@ -24,6 +24,7 @@ import com.ssafy.Dito.domain.groups.repository.GroupParticipantRepository;
 import com.ssafy.Dito.domain.groups.util.InviteCodeGenerator;
 import com.ssafy.Dito.domain.fcm.dto.FcmNotificationRequest;
 import com.ssafy.Dito.domain.fcm.service.FcmService;
+import com.ssafy.Dito.domain.screentime.service.GroupRankingVersions;
 import com.ssafy.Dito.domain.user.entity.User;
 import com.ssafy.Dito.domain.user.repository.UserRepository;
 import com.ssafy.Dito.global.jwt.util.JwtAuthentication;
@@ -46,6 +47,8 @@ public class GroupChallengeService {
     private final GroupParticipantQueryRepository groupParticipantQueryRepository;
     private final UserRepository userRepository;
     private final FcmService fcmService;
+    private final GroupChallengeMetaCache groupChallengeMetaCache;
+    private final GroupRankingVersions groupRankingVersions;
     private static final int MAX_INVITE_CODE_ATTEMPTS = 10;
 
     @Transactional
@@ -71,6 +74,7 @@ public class GroupChallengeService {
         );
 
         GroupChallenge savedChallenge = groupChallengeRepository.save(groupChallenge);
+        groupChallengeMetaCache.invalidate(savedChallenge.getId());
 
         // 호스트를 group_participant에 추가
         GroupParticipant hostParticipant = GroupParticipant.ofHost(
@@ -146,6 +150,8 @@ public class GroupChallengeService {
 
         // 5. 챌린지 시작
         groupChallenge.startChallenge();
+        groupChallengeMetaCache.invalidate(groupId);
+        groupRankingVersions.bumpGroup(groupId);
 
         // 6. 응답 생성
         return StartChallengeRes.from(groupChallenge);
@@ -183,6 +189,8 @@ public class GroupChallengeService {
         user.deductCoins(req.betCoin());
 
         groupChallenge.addBetCoins(req.betCoin());
+        groupChallengeMetaCache.invalidate(req.groupId());
+        groupRankingVersions.bumpGroup(req.groupId());
 
         GroupParticipant participant = GroupParticipant.ofGuest(
                 user,
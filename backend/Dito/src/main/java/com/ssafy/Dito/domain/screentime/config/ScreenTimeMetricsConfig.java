@@ -0,0 +1,101 @@
+package com.ssafy.Dito.domain.screentime.config;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.ssafy.Dito.domain.screentime.service.ScreenTimeMetrics;
+import com.ssafy.Dito.domain.screentime.service.StoreCallCounter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 스크린타임 요청당 저장소 호출 수 계측
+ * - Mongo CommandListener / Hibernate StatementInspector 로 요청 스레드의 호출 수 집계
+ *   (기존 StatementInspector 설정은 감싸서 유지)
+ * - 스크린타임 / 그룹 챌린지 API 요청 종료 시 매핑 패턴 태그로 기록 (경로 변수 값은 태그에 포함되지 않음)
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ScreenTimeMetricsConfig implements WebMvcConfigurer {
+
+    private final ScreenTimeMetrics metrics;
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer storeCallMongoCustomizer() {
+        return builder -> builder.addCommandListener(new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                StoreCallCounter.mongoCommand();
+            }
+        });
+    }
+
+    /**
+     * 이미 설정된 StatementInspector 가 있으면 감싸서 위임 (덮어쓰지 않음)
+     */
+    @Bean
+    public HibernatePropertiesCustomizer storeCallHibernateCustomizer() {
+        return properties -> {
+            StatementInspector delegate = resolveInspector(properties.get(AvailableSettings.STATEMENT_INSPECTOR));
+            StatementInspector inspector = sql -> {
+                StoreCallCounter.postgresStatement();
+                return delegate != null ? delegate.inspect(sql) : sql;
+            };
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        };
+    }
+
+    /**
+     * hibernate.session_factory.statement_inspector 설정값 (인스턴스 / 클래스 / 클래스명) → 인스턴스
+     */
+    private static StatementInspector resolveInspector(Object configured) {
+        if (configured == null) {
+            return null;
+        }
+        if (configured instanceof StatementInspector inspector) {
+            return inspector;
+        }
+        try {
+            Class<?> type = configured instanceof Class<?> clazz ? clazz : Class.forName(configured.toString());
+            return (StatementInspector) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("기존 StatementInspector 를 생성할 수 없음: " + configured, e);
+        }
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                StoreCallCounter.reset();
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                Object handler, Exception ex) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                if (pattern == null) {
+                    return;
+                }
+                String endpoint = request.getMethod() + " " + pattern;
+                metrics.recordStoreCalls(endpoint, StoreCallCounter.mongoCommands(), StoreCallCounter.postgresStatements());
+                long contentLength = request.getContentLengthLong();
+                if (contentLength > 0) {
+                    metrics.recordPayload(endpoint, contentLength);
+                }
+            }
+        }).addPathPatterns("/screen-time/**", "/challenges/groups/**");
+    }
+}
@@ -1,9 +1,21 @@
 package com.ssafy.Dito.domain.screentime.controller;
 
+import com.ssafy.Dito.domain.screentime.dto.request.ScreenTimeBatchUpdateReq;
+import com.ssafy.Dito.domain.screentime.dto.request.ScreenTimeSyncReq;
 import com.ssafy.Dito.domain.screentime.dto.request.ScreenTimeUpdateReq;
 import com.ssafy.Dito.domain.screentime.dto.request.UpdateCurrentAppReq;
+import com.ssafy.Dito.domain.screentime.dto.response.AppSessionsRes;
+import com.ssafy.Dito.domain.screentime.dto.response.HeatmapRes;
+import com.ssafy.Dito.domain.screentime.dto.response.LeaderboardRes;
+import com.ssafy.Dito.domain.screentime.dto.response.ScreenTimeBatchUpdateRes;
+import com.ssafy.Dito.domain.screentime.dto.response.ScreenTimeSyncRes;
 import com.ssafy.Dito.domain.screentime.dto.response.ScreenTimeUpdateRes;
+import com.ssafy.Dito.domain.screentime.service.AppTimelineService;
+import com.ssafy.Dito.domain.screentime.service.ScreenTimeHeatmapService;
+import com.ssafy.Dito.domain.screentime.service.ScreenTimeIngestQueue;
 import com.ssafy.Dito.domain.screentime.service.ScreenTimeService;
+import com.ssafy.Dito.domain.screentime.service.ScreenTimeSyncService;
+import com.ssafy.Dito.domain.screentime.service.WeeklyLeaderboard;
 import com.ssafy.Dito.global.dto.ApiResponse;
 import com.ssafy.Dito.global.dto.CommonResult;
 import com.ssafy.Dito.global.dto.SingleResult;
@@ -15,16 +27,29 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
+
 /**
  * 스크린타임 관리 컨트롤러
  * - 스크린타임 갱신 (앱에서 5분마다 호출)
+ * - 스크린타임 비동기 갱신 (202 Accepted, 옵트인)
+ * - 스크린타임 일괄 갱신 (오프라인 백로그 동기화)
+ * - 스크린타임 동기화 (changeToken / 서버 워터마크 기반 차등 전송)
+ * - 주간 리더보드 조회 (옵트인)
+ * - 요일 × 시간대 사용량 히트맵 조회 (사용자 / 그룹)
+ * - 앱 사용 구간 조회 (현재 앱 이벤트 타임라인)
  */
 @Tag(name = "Screen Time", description = "스크린타임 관리 API")
 @RestController
@@ -33,13 +58,22 @@ import org.springframework.web.bind.annotation.RestController;
 public class ScreenTimeController {
 
     private final ScreenTimeService screenTimeService;
+    private final ObjectProvider<ScreenTimeIngestQueue> ingestQueueProvider;
+    private final WeeklyLeaderboard weeklyLeaderboard;
+    private final ScreenTimeHeatmapService heatmapService;
+    private final ScreenTimeSyncService syncService;
+    private final AppTimelineService appTimelineService;
+
+    private static final int LEADERBOARD_MAX_SIZE = 100;
+    private static final int HEATMAP_MAX_WEEKS = 4;
+    private static final int APP_SESSIONS_MAX_DAYS = 7;
 
     @Operation(
         summary = "스크린타임 갱신",
         description = "사용자의 스크린타임을 갱신합니다. 앱에서 5분마다 호출됩니다.\n\n" +
-            "- Summary: 날짜별 집계 데이터 갱신 (upsert)\n" +
+            "- 일별 사용량: 사용자 단위 날짜별 집계 데이터 갱신 (upsert, 참여 중인 모든 그룹에 공통 반영)\n" +
             "- Snapshot: 시간대별 기록 저장 (insert)\n" +
-            "- 동일 날짜 갱신 시 기존 데이터 업데이트"
+            "- 동일 날짜 갱신 시 기존 값보다 클 때만 업데이트 (늦게 도착한 요청은 값을 낮추지 않음)"
     )
     @ApiResponses({
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -54,6 +88,10 @@ public class ScreenTimeController {
         @io.swagger.v3.oas.annotations.responses.ApiResponse(
             responseCode = "404",
             description = "그룹을 찾을 수 없음"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "409",
+            description = "같은 requestId 로 다른 내용의 요청이 이미 처리됨"
         )
     })
     @PostMapping("/update")
@@ -66,6 +104,105 @@ public class ScreenTimeController {
         return ApiResponse.ok(response);
     }
 
+    @Operation(
+        summary = "스크린타임 비동기 갱신",
+        description = "검증 후 요청을 큐에 적재하고 즉시 202 를 반환합니다. (screentime.async-ingest.enabled=true 일 때)\n\n" +
+            "- 사용자별 처리 순서 보장, 같은 날짜 연속 요청은 병합 처리\n" +
+            "- 큐가 가득 차면 429 반환 → 클라이언트는 백오프 후 재시도\n" +
+            "- 비동기 모드가 꺼져 있으면 /update 와 동일하게 동기 처리 후 200 반환"
+    )
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "202",
+            description = "스크린타임 갱신 요청 접수"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "비동기 모드 비활성화 - 동기 처리 완료",
+            content = @Content(schema = @Schema(implementation = ScreenTimeUpdateRes.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "그룹을 찾을 수 없음"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "429",
+            description = "요청 과다 (큐 가득 참)"
+        )
+    })
+    @PostMapping("/update-async")
+    public ResponseEntity<? extends CommonResult> updateScreenTimeAsync(
+        @Valid @RequestBody ScreenTimeUpdateReq request
+    ) {
+        Long userId = JwtAuthentication.getUserId();
+        ScreenTimeIngestQueue ingestQueue = ingestQueueProvider.getIfAvailable();
+        if (ingestQueue == null) {
+            return ApiResponse.ok(screenTimeService.updateScreenTime(request, userId));
+        }
+
+        ingestQueue.enqueue(request, userId);
+        return ApiResponse.of(HttpStatus.ACCEPTED, "스크린타임 갱신 요청 접수");
+    }
+
+    @Operation(
+        summary = "스크린타임 일괄 갱신",
+        description = "오프라인 동안 쌓인 여러 날짜 × 여러 그룹의 스크린타임을 한 번에 갱신합니다.\n\n" +
+            "- 재연결 시 /update 를 날짜·그룹마다 호출하는 대신 사용\n" +
+            "- 일별 사용량: 날짜별 일괄 upsert (기존 값보다 클 때만 갱신)\n" +
+            "- Snapshot: 일괄 insert\n" +
+            "- 항목별 결과를 요청 순서대로 반환 (존재하지 않는 그룹은 group_not_found)"
+    )
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "스크린타임 일괄 갱신 성공",
+            content = @Content(schema = @Schema(implementation = ScreenTimeBatchUpdateRes.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "잘못된 요청"
+        )
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<SingleResult<ScreenTimeBatchUpdateRes>> batchUpdateScreenTime(
+        @Valid @RequestBody ScreenTimeBatchUpdateReq request
+    ) {
+        Long userId = JwtAuthentication.getUserId();
+        ScreenTimeBatchUpdateRes response = screenTimeService.batchUpdateScreenTime(request, userId);
+
+        return ApiResponse.ok(response);
+    }
+
+    @Operation(
+        summary = "스크린타임 동기화 (changeToken)",
+        description = "서버에 이미 있는 값을 알려주어 재연결 시 필요한 날짜만 전송하도록 합니다. (프로토콜 v" +
+            ScreenTimeSyncService.PROTOCOL_VERSION + ")\n\n" +
+            "- changeToken 이후 값이 바뀐 날짜별 서버 값(워터마크) 반환, 토큰이 없으면 전체 (fullSync)\n" +
+            "- 클라이언트는 로컬 값이 워터마크보다 큰 날짜만 entries 로 전송 → 일괄 갱신과 동일하게 처리\n" +
+            "- 응답의 changeToken 을 저장해 다음 동기화에 사용\n" +
+            "- 지원하지 않는 protocolVersion 은 400"
+    )
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "스크린타임 동기화 성공",
+            content = @Content(schema = @Schema(implementation = ScreenTimeSyncRes.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "400",
+            description = "잘못된 요청 (지원하지 않는 프로토콜 버전 등)"
+        )
+    })
+    @PostMapping("/sync")
+    public ResponseEntity<SingleResult<ScreenTimeSyncRes>> syncScreenTime(
+        @Valid @RequestBody ScreenTimeSyncReq request
+    ) {
+        Long userId = JwtAuthentication.getUserId();
+        ScreenTimeSyncRes response = syncService.sync(request, userId);
+
+        return ApiResponse.ok(response);
+    }
+
     @Operation(
         summary = "현재 앱 사용 정보 갱신",
         description = "사용자가 현재 사용 중인 앱 정보를 갱신합니다. 앱 전환 시마다 호출됩니다.\n\n" +
@@ -92,4 +229,164 @@ public class ScreenTimeController {
 
         return ApiResponse.of(HttpStatus.OK, "현재 앱 정보 갱신 성공");
     }
+
+    @Operation(
+        summary = "주간 리더보드 상위 조회",
+        description = "이번 주(월~일) YouTube 사용시간이 적은 순으로 전체 사용자 상위 k 명을 조회합니다.\n\n" +
+            "- 서버 메모리 인덱스 기반 (screentime.league.enabled=true 일 때만 사용 가능)\n" +
+            "- 동점자는 같은 순위\n" +
+            "- k 는 최대 " + LEADERBOARD_MAX_SIZE + " 명"
+    )
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "리더보드 조회 성공",
+            content = @Content(schema = @Schema(implementation = LeaderboardRes.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "리더보드 비활성화"
+        )
+    })
+    @GetMapping("/leaderboard")
+    public ResponseEntity<SingleResult<LeaderboardRes>> getLeaderboard(
+        @RequestParam(defaultValue = "10") int k
+    ) {
+        Long userId = JwtAuthentication.getUserId();
+        LeaderboardRes response = weeklyLeaderboard.topK(clamp(k), userId);
+
+        return ApiResponse.ok(response);
+    }
+
+    @Operation(
+        summary = "주간 리더보드 내 주변 순위 조회",
+        description = "이번 주 리더보드에서 내 순위와 앞뒤 around 명씩을 조회합니다.\n\n" +
+            "- 이번 주 기록이 없으면 빈 목록\n" +
+            "- around 는 최대 " + LEADERBOARD_MAX_SIZE + " 명"
+    )
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "리더보드 조회 성공",
+            content = @Content(schema = @Schema(implementation = LeaderboardRes.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "리더보드 비활성화"
+        )
+    })
+    @GetMapping("/leaderboard/me")
+    public ResponseEntity<SingleResult<LeaderboardRes>> getMyLeaderboard(
+        @RequestParam(defaultValue = "5") int around
+    ) {
+        Long userId = JwtAuthentication.getUserId();
+        LeaderboardRes response = weeklyLeaderboard.neighbors(userId, clamp(around));
+
+        return ApiResponse.ok(response);
+    }
+
+    @Operation(
+        summary = "내 앱 사용 구간 조회",
+        description = "[from, to) 구간의 포그라운드 앱 사용 구간을 조회합니다. (screentime.app-timeline.enabled=true 일 때)\n\n" +
+            "- 현재 앱 갱신 이벤트를 같은 앱 연속 구간으로 병합해 기록한 값\n" +
+            "- 조회 구간 밖은 잘라냄, 진행 중인 구간은 현재 시각까지\n" +
+            "- to 생략 시 현재 시각, from 생략 시 to 의 하루 전\n" +
+            "- 조회 구간은 최대 " + APP_SESSIONS_MAX_DAYS + " 일"
+    )
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "앱 사용 구간 조회 성공",
+            content = @Content(schema = @Schema(implementation = AppSessionsRes.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "앱 사용 타임라인 비활성화"
+        )
+    })
+    @GetMapping("/app-sessions")
+    public ResponseEntity<SingleResult<AppSessionsRes>> getAppSessions(
+        @io.swagger.v3.oas.annotations.Parameter(description = "조회 시작 시각 (ISO-8601)", example = "2025-01-07T00:00:00")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+        @io.swagger.v3.oas.annotations.Parameter(description = "조회 끝 시각 (ISO-8601)", example = "2025-01-08T00:00:00")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        Long userId = JwtAuthentication.getUserId();
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime earliest = end.minusDays(APP_SESSIONS_MAX_DAYS);
+        LocalDateTime start = from != null ? from : end.minusDays(1);
+        if (start.isBefore(earliest)) {
+            start = earliest;
+        }
+        if (start.isAfter(end)) {
+            start = end;
+        }
+        AppSessionsRes response = appTimelineService.getSessions(userId, start, end);
+
+        return ApiResponse.ok(response);
+    }
+
+    @Operation(
+        summary = "내 사용량 히트맵 조회",
+        description = "최근 weeks 주(오늘 포함) 사용량을 요일 × 시간대(7 × 24)로 합산해 조회합니다.\n\n" +
+            "- 사용량이 없는 셀은 생략\n" +
+            "- weeks 는 최대 " + HEATMAP_MAX_WEEKS + " 주 (Snapshot 보관 기간 이내)"
+    )
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "히트맵 조회 성공",
+            content = @Content(schema = @Schema(implementation = HeatmapRes.class))
+        )
+    })
+    @GetMapping("/heatmap")
+    public ResponseEntity<SingleResult<HeatmapRes>> getHeatmap(
+        @RequestParam(defaultValue = "1") int weeks
+    ) {
+        Long userId = JwtAuthentication.getUserId();
+        HeatmapRes response = heatmapService.getUserHeatmap(userId, clampWeeks(weeks));
+
+        return ApiResponse.ok(response);
+    }
+
+    @Operation(
+        summary = "그룹 사용량 히트맵 조회",
+        description = "그룹 참여자 전체의 최근 weeks 주(오늘 포함) 사용량을 요일 × 시간대(7 × 24)로 합산해 조회합니다.\n\n" +
+            "- 그룹 참여자만 조회 가능\n" +
+            "- 사용량이 없는 셀은 생략\n" +
+            "- weeks 는 최대 " + HEATMAP_MAX_WEEKS + " 주 (Snapshot 보관 기간 이내)"
+    )
+    @ApiResponses({
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200",
+            description = "히트맵 조회 성공",
+            content = @Content(schema = @Schema(implementation = HeatmapRes.class))
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "403",
+            description = "그룹 참여자가 아님"
+        ),
+        @io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "404",
+            description = "그룹을 찾을 수 없음"
+        )
+    })
+    @GetMapping("/heatmap/groups/{group_id}")
+    public ResponseEntity<SingleResult<HeatmapRes>> getGroupHeatmap(
+        @PathVariable("group_id") Long groupId,
+        @RequestParam(defaultValue = "1") int weeks
+    ) {
+        Long userId = JwtAuthentication.getUserId();
+        HeatmapRes response = heatmapService.getGroupHeatmap(groupId, userId, clampWeeks(weeks));
+
+        return ApiResponse.ok(response);
+    }
+
+    private int clamp(int size) {
+        return Math.max(1, Math.min(size, LEADERBOARD_MAX_SIZE));
+    }
+
+    private int clampWeeks(int weeks) {
+        return Math.max(1, Math.min(weeks, HEATMAP_MAX_WEEKS));
+    }
 }
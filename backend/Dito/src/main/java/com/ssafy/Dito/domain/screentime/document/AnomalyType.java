@@ -0,0 +1,19 @@
+package com.ssafy.Dito.domain.screentime.document;
+
+/**
+ * 스크린타임 업로드 이상 유형
+ */
+public enum AnomalyType {
+    /** 같은 날짜의 누적 값이 이전에 받은 값보다 작아짐 */
+    TOTAL_DECREASED,
+    /** 누적 스크린타임이 그날 경과한 시간(분)보다 큼 */
+    EXCEEDS_ELAPSED_DAY,
+    /** 직전 업로드 대비 증가량이 그 사이 경과한 시간(분)보다 큼 */
+    DELTA_EXCEEDS_ELAPSED,
+    /** YouTube 시간이 전체 스크린타임보다 큼 */
+    YOUTUBE_EXCEEDS_TOTAL;
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+}
@@ -0,0 +1,76 @@
+package com.ssafy.Dito.domain.screentime.document;
+
+import com.ssafy.Dito.domain.log.common.MongoBaseDocument;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * MongoDB document for screen time anomalies
+ * 업로드 시점에 감지한 비정상 스크린타임 기록 (베팅 코인 부정 검증용)
+ *
+ * 특징:
+ * - 정상 업로드는 기록하지 않음 (이상 건만 저장)
+ * - 90일 후 자동 삭제 (TTL 인덱스)
+ */
+@Document(collection = "screen_time_anomalies")
+@CompoundIndexes({
+    @CompoundIndex(name = "user_date_idx",
+        def = "{'user_id': 1, 'date': -1}")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ScreenTimeAnomaly extends MongoBaseDocument {
+
+    @Field("user_id")
+    private Long userId;
+
+    @Field("group_id")
+    private Long groupId;
+
+    @Field("date")
+    private LocalDate date;
+
+    @Field("type")
+    private AnomalyType type;
+
+    @Field("total_minutes")
+    private Integer totalMinutes;
+
+    @Field("youtube_minutes")
+    private Integer youtubeMinutes;
+
+    @Field("previous_total_minutes")
+    private Integer previousTotalMinutes;
+
+    @Field("previous_youtube_minutes")
+    private Integer previousYoutubeMinutes;
+
+    @Field("detected_at")
+    @Indexed(expireAfter = "90d")
+    private Instant detectedAt;
+
+    @Builder
+    private ScreenTimeAnomaly(Long userId, Long groupId, LocalDate date, AnomalyType type,
+        Integer totalMinutes, Integer youtubeMinutes, Integer previousTotalMinutes,
+        Integer previousYoutubeMinutes, Instant detectedAt) {
+        this.userId = userId;
+        this.groupId = groupId;
+        this.date = date;
+        this.type = type;
+        this.totalMinutes = totalMinutes;
+        this.youtubeMinutes = youtubeMinutes;
+        this.previousTotalMinutes = previousTotalMinutes;
+        this.previousYoutubeMinutes = previousYoutubeMinutes;
+        this.detectedAt = detectedAt;
+    }
+}
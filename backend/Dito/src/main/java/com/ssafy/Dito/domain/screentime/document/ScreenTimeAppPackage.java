@@ -0,0 +1,45 @@
+package com.ssafy.Dito.domain.screentime.document;
+
+import com.ssafy.Dito.domain.log.common.MongoBaseDocument;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * MongoDB document for interned app package names
+ * 앱 타임라인에서 사용하는 패키지명 ↔ 정수 app_id 매핑
+ *
+ * 특징:
+ * - _id = 패키지명 (중복 등록 방지, 별도 인덱스 불필요)
+ * - app_id 는 등록 순서대로 증가하는 정수 (unique)
+ * - 타임라인 세그먼트에는 패키지명 대신 app_id 만 저장
+ */
+@Document(collection = "screen_time_app_packages")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ScreenTimeAppPackage extends MongoBaseDocument {
+
+    @Field("app_id")
+    @Indexed(name = "app_id_unique_idx", unique = true)
+    private Integer appId;
+
+    @Field("app_name")
+    private String appName;
+
+    private ScreenTimeAppPackage(String appPackage, Integer appId, String appName) {
+        this.setId(appPackage);
+        this.appId = appId;
+        this.appName = appName;
+    }
+
+    public static ScreenTimeAppPackage of(String appPackage, int appId, String appName) {
+        return new ScreenTimeAppPackage(appPackage, appId, appName);
+    }
+
+    public String getAppPackage() {
+        return getId();
+    }
+}
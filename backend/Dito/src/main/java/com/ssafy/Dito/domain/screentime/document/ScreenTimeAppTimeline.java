@@ -0,0 +1,84 @@
+package com.ssafy.Dito.domain.screentime.document;
+
+import com.ssafy.Dito.domain.log.common.MongoBaseDocument;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * MongoDB document for per-day foreground app timeline
+ * 사용자 × 날짜 포그라운드 앱 사용 구간 (현재 앱 이벤트 run-length 인코딩)
+ *
+ * 특징:
+ * - 같은 앱 연속 이벤트는 하나의 구간으로 병합 (AppTimelineRecorder), 닫힌 구간만 $push 로 추가 (append-only)
+ * - 구간 1개 = long 1개: app_id(29bit) | 자정 기준 시작 초(17bit) | 지속 초(17bit)
+ * - 패키지명은 ScreenTimeAppPackage 에 한 번만 저장하고 app_id 로 참조
+ * - 하루 수십 구간 기준 문서 크기 수백 바이트
+ * - 날짜 + retention-days 후 자동 삭제 (expire_at TTL 인덱스)
+ */
+@Document(collection = "screen_time_app_timeline")
+@CompoundIndexes({
+    @CompoundIndex(name = "user_day_unique_idx",
+        def = "{'user_id': 1, 'd': 1}",
+        unique = true)
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ScreenTimeAppTimeline extends MongoBaseDocument {
+
+    private static final int SECOND_BITS = 17;
+    private static final long SECOND_MASK = (1L << SECOND_BITS) - 1;
+    private static final long APP_ID_MASK = (1L << 29) - 1;
+
+    @Field("user_id")
+    private Long userId;
+
+    @Field("d")
+    private Integer day;  // epoch-day (1970-01-01 = 0)
+
+    @Field("segments")
+    private List<Long> segments;
+
+    @Field("expire_at")
+    @Indexed(name = "expire_at_ttl_idx", expireAfter = "0s")
+    private Date expireAt;
+
+    public LocalDate getDate() {
+        return LocalDate.ofEpochDay(day);
+    }
+
+    /**
+     * 구간 인코딩
+     *
+     * @param startSecond 자정 기준 시작 초 (0 ~ 86399)
+     * @param durationSeconds 지속 초 (하루를 넘지 않음)
+     */
+    public static long encode(int appId, int startSecond, int durationSeconds) {
+        return ((appId & APP_ID_MASK) << (SECOND_BITS * 2))
+            | ((startSecond & SECOND_MASK) << SECOND_BITS)
+            | (durationSeconds & SECOND_MASK);
+    }
+
+    public static Segment decode(long segment) {
+        return new Segment(
+            (int) ((segment >>> (SECOND_BITS * 2)) & APP_ID_MASK),
+            (int) ((segment >>> SECOND_BITS) & SECOND_MASK),
+            (int) (segment & SECOND_MASK)
+        );
+    }
+
+    /**
+     * 앱 사용 구간 (자정 기준 초)
+     */
+    public record Segment(int appId, int startSecond, int durationSeconds) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.ssafy.Dito.domain.screentime.document;
+
+import com.ssafy.Dito.domain.log.common.MongoBaseDocument;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * MongoDB document for per-challenge running screen time totals
+ * 그룹 챌린지 × 사용자 누적 스크린타임 (랭킹용 materialized view)
+ *
+ * 특징:
+ * - 그룹, 사용자별로 하나의 Document 유지 → 랭킹 조회는 챌린지 기간과 무관하게 참여자당 1건
+ * - 챌린지 기간(start_date ~ end_date)을 함께 저장해 일별 사용량 변화분을 기간에 해당하는 그룹에만 반영
+ * - 일별 사용량 갱신 시 이전 값과의 차이만큼 $inc
+ * - 랭킹 조회는 group_user_unique_idx 로 그룹 참여자 문서만 읽음 (정렬은 서비스에서)
+ * - 원본은 screen_time_daily_usage, 어긋나면 재계산(rebuild)으로 복구 (version 이 같을 때만 덮어씀)
+ */
+@Document(collection = "screen_time_challenge_totals")
+@CompoundIndexes({
+    @CompoundIndex(name = "group_user_unique_idx",
+        def = "{'group_id': 1, 'user_id': 1}",
+        unique = true),
+    @CompoundIndex(name = "user_window_idx",
+        def = "{'user_id': 1, 'start_date': 1, 'end_date': 1}")
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ScreenTimeChallengeTotal extends MongoBaseDocument {
+
+    @Field("group_id")
+    private Long groupId;
+
+    @Field("user_id")
+    private Long userId;
+
+    @Field("start_date")
+    private String startDate;  // "yyyy-MM-dd" (daily usage 의 date 와 같은 형식으로 범위 비교)
+
+    @Field("end_date")
+    private String endDate;
+
+    @Field("total_minutes")
+    private Integer totalMinutes;
+
+    @Field("youtube_minutes")
+    private Integer youtubeMinutes;
+
+    @Field("last_updated_at")
+    private LocalDateTime lastUpdatedAt;
+
+    /**
+     * $inc / 재계산마다 1 증가 (재계산이 그 사이 반영된 변화분을 덮어쓰지 않도록 비교)
+     */
+    @Field("version")
+    private Long version;
+
+    private ScreenTimeChallengeTotal(Long groupId, Long userId, LocalDate startDate, LocalDate endDate,
+        int totalMinutes, int youtubeMinutes) {
+        this.groupId = groupId;
+        this.userId = userId;
+        this.startDate = startDate.toString();
+        this.endDate = endDate.toString();
+        this.totalMinutes = totalMinutes;
+        this.youtubeMinutes = youtubeMinutes;
+    }
+
+    /**
+     * 원본에서 계산한 누적값 (저장하지 않은 조회 결과용)
+     */
+    public static ScreenTimeChallengeTotal of(Long groupId, Long userId, LocalDate startDate, LocalDate endDate,
+        int totalMinutes, int youtubeMinutes) {
+        return new ScreenTimeChallengeTotal(groupId, userId, startDate, endDate, totalMinutes, youtubeMinutes);
+    }
+
+    /**
+     * 저장된 챌린지 기간이 현재 그룹 기간과 같은지 (다르면 재계산 필요)
+     */
+    public boolean matchesWindow(LocalDate startDate, LocalDate endDate) {
+        return startDate.toString().equals(this.startDate) && endDate.toString().equals(this.endDate);
+    }
+}
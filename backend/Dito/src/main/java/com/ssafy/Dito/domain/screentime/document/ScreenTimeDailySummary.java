@@ -22,7 +22,10 @@ import java.time.LocalDateTime;
  * - 유저별, 날짜별로 하나의 Document 유지
  * - 앱에서 5분마다 upsert로 갱신
  * - 빠른 랭킹 조회 (Summary 데이터 직접 사용)
+ *
+ * @deprecated 그룹 수만큼 중복 저장되므로 사용자 단위 {@link ScreenTimeDailyUsage} 로 대체
  */
+@Deprecated
 @Document(collection = "screen_time_daily_summary")
 @CompoundIndexes({
     @CompoundIndex(name = "group_user_date_unique_idx",
@@ -0,0 +1,74 @@
+package com.ssafy.Dito.domain.screentime.document;
+
+import com.ssafy.Dito.domain.log.common.MongoBaseDocument;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * MongoDB document for user-scoped daily screen time
+ * 사용자 단위 일별 스크린타임 (그룹과 무관한 단일 원본)
+ *
+ * 특징:
+ * - 유저별, 날짜별로 하나의 Document 유지 (참여 그룹 수와 무관)
+ * - 그룹 랭킹은 참여자 목록 × 챌린지 기간으로 조회해 파생
+ * - 새 그룹에 참여해도 추가 저장 없음
+ * - 기존 ScreenTimeDailySummary (그룹 × 사용자 × 날짜) 를 대체
+ * - 고유 키 / 기간 조회 모두 정수 epoch-day(d) 기준 (user_day_unique_idx)
+ *   기존 컬렉션은 epoch-day 백필 완료 후 ScreenTimeEpochDayMigrationJob 이 이 인덱스를 만들고
+ *   date 문자열 고유 인덱스(user_date_unique_idx)를 삭제 - 이후 새 문서에는 date 를 저장하지 않음
+ */
+@Document(collection = "screen_time_daily_usage")
+@CompoundIndexes({
+    @CompoundIndex(name = "user_day_unique_idx",
+        def = "{'user_id': 1, 'd': 1}",
+        unique = true)
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ScreenTimeDailyUsage extends MongoBaseDocument {
+
+    @Field("user_id")
+    private Long userId;
+
+    @Field("date")
+    private String date;  // "yyyy-MM-dd" (epoch-day 백필 전 문서 호환용, 백필 완료 후 새 문서에는 없음)
+
+    @Field("d")
+    private Integer day;  // epoch-day (1970-01-01 = 0), 기간 조회용
+
+    @Field("total_minutes")
+    private Integer totalMinutes;
+
+    @Field("youtube_minutes")
+    private Integer youtubeMinutes;
+
+    @Field("last_updated_at")
+    private LocalDateTime lastUpdatedAt;
+
+    @Builder
+    private ScreenTimeDailyUsage(Long userId, LocalDate date, Integer totalMinutes,
+        Integer youtubeMinutes, LocalDateTime lastUpdatedAt) {
+        this.userId = userId;
+        this.date = date.toString();
+        this.day = (int) date.toEpochDay();
+        this.totalMinutes = totalMinutes;
+        this.youtubeMinutes = youtubeMinutes != null ? youtubeMinutes : 0;
+        this.lastUpdatedAt = lastUpdatedAt;
+    }
+
+    /**
+     * date를 LocalDate로 반환 (프론트 호환성)
+     */
+    public LocalDate getDateAsLocalDate() {
+        return this.day != null ? LocalDate.ofEpochDay(this.day) : LocalDate.parse(this.date);
+    }
+}
@@ -0,0 +1,49 @@
+package com.ssafy.Dito.domain.screentime.document;
+
+import com.ssafy.Dito.domain.log.common.MongoBaseDocument;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * MongoDB document for hour-of-day screen time rollups
+ * 사용자 × 날짜 × 시간대(0~23) 사용량 (요일·시간대 히트맵용)
+ *
+ * 특징:
+ * - 연속된 업로드 값의 증가분을 두 업로드 사이 시간대에 비례 배분해 $inc
+ * - 한 사용자 1주일 = 최대 168 셀 → 히트맵 조회가 Snapshot 수와 무관
+ * - day_of_week (1=월 ~ 7=일) 를 함께 저장해 요일별 $group 시 날짜 변환 불필요
+ * - 그룹 히트맵은 참여자 셀을 합산해 파생 (일별 사용량과 같은 사용자 단위 저장)
+ */
+@Document(collection = "screen_time_hourly_usage")
+@CompoundIndexes({
+    @CompoundIndex(name = "user_date_hour_unique_idx",
+        def = "{'user_id': 1, 'date': 1, 'hour': 1}",
+        unique = true)
+})
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ScreenTimeHourlyUsage extends MongoBaseDocument {
+
+    @Field("user_id")
+    private Long userId;
+
+    @Field("date")
+    private String date;  // "yyyy-MM-dd"
+
+    @Field("day_of_week")
+    private Integer dayOfWeek;
+
+    @Field("hour")
+    private Integer hour;
+
+    @Field("total_minutes")
+    private Integer totalMinutes;
+
+    @Field("youtube_minutes")
+    private Integer youtubeMinutes;
+}
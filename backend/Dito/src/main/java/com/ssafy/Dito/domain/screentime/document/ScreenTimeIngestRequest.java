@@ -0,0 +1,111 @@
+package com.ssafy.Dito.domain.screentime.document;
+
+import com.ssafy.Dito.domain.log.common.MongoBaseDocument;
+import com.ssafy.Dito.domain.screentime.dto.request.ScreenTimeUpdateReq;
+import com.ssafy.Dito.domain.screentime.dto.response.ScreenTimeUpdateRes;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * MongoDB document for screen time ingest idempotency
+ * 클라이언트 요청 ID 기반 중복 업로드 방지 (WorkManager 재시도 대응)
+ *
+ * 특징:
+ * - _id = "userId:requestId" (unique 보장, 별도 인덱스 불필요)
+ * - 처리 전에 먼저 insert 해서 선점 → 동시에 도착한 재시도도 한 번만 처리
+ * - 처리 결과(ScreenTimeUpdateRes)를 저장해 재시도 시 그대로 반환
+ * - 요청 내용 해시(payload_hash)를 함께 저장 → 같은 requestId 로 다른 값을 보내면 409 (재시도가 아닌 키 재사용)
+ * - 1일 후 자동 삭제 (TTL 인덱스)
+ */
+@Document(collection = "screen_time_ingest_requests")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ScreenTimeIngestRequest extends MongoBaseDocument {
+
+    @Field("group_id")
+    private Long groupId;
+
+    @Field("date")
+    private LocalDate date;
+
+    @Field("total_minutes")
+    private Integer totalMinutes;
+
+    @Field("youtube_minutes")
+    private Integer youtubeMinutes;
+
+    /**
+     * 처리 상태 (null 이면 아직 처리 중)
+     */
+    @Field("status")
+    private String status;
+
+    /**
+     * 요청 내용(groupId, date, totalMinutes, youtubeMinutes) 해시 (이전 버전 문서는 null)
+     */
+    @Field("payload_hash")
+    private String payloadHash;
+
+    @Field("created_at")
+    @Indexed(expireAfter = "1d")
+    private Instant createdAt;
+
+    private ScreenTimeIngestRequest(String id, String payloadHash) {
+        this.setId(id);
+        this.payloadHash = payloadHash;
+        this.createdAt = Instant.now();
+    }
+
+    /**
+     * 처리 선점용 문서 생성
+     */
+    public static ScreenTimeIngestRequest claim(Long userId, ScreenTimeUpdateReq request) {
+        return new ScreenTimeIngestRequest(key(userId, request.requestId()), hash(request));
+    }
+
+    public static String key(Long userId, String requestId) {
+        return userId + ":" + requestId;
+    }
+
+    /**
+     * 처리 결과 기록
+     */
+    public void complete(ScreenTimeUpdateRes response) {
+        this.groupId = response.groupId();
+        this.date = response.date();
+        this.totalMinutes = response.totalMinutes();
+        this.youtubeMinutes = response.youtubeMinutes();
+        this.status = response.status();
+    }
+
+    /**
+     * 같은 requestId 재전송의 내용이 최초 요청과 같은지 (해시가 없는 이전 문서는 같다고 봄)
+     */
+    public boolean matchesPayload(ScreenTimeUpdateReq request) {
+        return payloadHash == null || payloadHash.equals(hash(request));
+    }
+
+    private static String hash(ScreenTimeUpdateReq request) {
+        String payload = request.groupId() + "|" + request.date() + "|" + request.totalMinutes()
+            + "|" + Objects.requireNonNullElse(request.youtubeMinutes(), 0);
+        return DigestUtils.md5DigestAsHex(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean isCompleted() {
+        return status != null;
+    }
+
+    public ScreenTimeUpdateRes toResponse(Long userId) {
+        return ScreenTimeUpdateRes.of(groupId, userId, date, totalMinutes, youtubeMinutes, status);
+    }
+}
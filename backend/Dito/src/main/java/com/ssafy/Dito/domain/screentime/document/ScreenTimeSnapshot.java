@@ -7,11 +7,11 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.CompoundIndexes;
-import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.TimeSeries;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
 
-import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -23,33 +23,51 @@ import java.time.LocalDateTime;
  * - 앱에서 5분마다 새로운 Snapshot INSERT
  * - 시간대별 스크린타임 패턴 분석 가능
  * - 비정상 데이터 감지 및 검증
- * - 30일 후 자동 삭제 (TTL 인덱스)
+ * - MongoDB time-series 컬렉션 (metaField = meta{group_id, user_id}, timeField = recorded_at)
+ * - 30일 후 자동 삭제 (컬렉션 expireAfter, 별도 TTL 인덱스 불필요)
+ * - 날짜는 정수 epoch-day(d) 로 저장 (date 는 이전 문서에만 존재, 만료와 함께 사라짐)
  */
-@Document(collection = "screen_time_snapshots")
+@Document(collection = ScreenTimeSnapshot.COLLECTION)
+@TimeSeries(
+    timeField = "recordedAt",
+    metaField = "meta",
+    granularity = Granularity.MINUTES,
+    expireAfter = ScreenTimeSnapshot.RETENTION_DAYS + "d"
+)
 @CompoundIndexes({
     @CompoundIndex(name = "user_date_idx",
-        def = "{'user_id': 1, 'date': -1}"),
+        def = "{'meta.user_id': 1, 'date': -1}"),
+    @CompoundIndex(name = "user_day_idx",
+        def = "{'meta.user_id': 1, 'd': -1}"),
     @CompoundIndex(name = "group_user_recorded_idx",
-        def = "{'group_id': 1, 'user_id': 1, 'recorded_at': -1}")
+        def = "{'meta.group_id': 1, 'meta.user_id': 1, 'recorded_at': -1}")
 })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ScreenTimeSnapshot extends MongoBaseDocument {
 
-    @Field("group_id")
-    @Indexed
-    private Long groupId;
+    public static final String COLLECTION = "screen_time_snapshots_ts";
 
-    @Field("user_id")
-    @Indexed
-    private Long userId;
+    /**
+     * 보관 기간 (컬렉션 expireAfter, epoch-day 조회 전환 시점 계산에 공통 사용)
+     */
+    public static final int RETENTION_DAYS = 30;
+
+    /**
+     * 마이그레이션 이전 일반 컬렉션 (expire_at TTL 인덱스 사용)
+     */
+    public static final String LEGACY_COLLECTION = "screen_time_snapshots";
+
+    @Field("meta")
+    private Meta meta;
 
     @Field("date")
-    @Indexed
     private LocalDate date;
 
+    @Field("d")
+    private Integer day;
+
     @Field("recorded_at")
-    @Indexed
     private LocalDateTime recordedAt;
 
     @Field("screen_time_minutes")
@@ -58,45 +76,62 @@ public class ScreenTimeSnapshot extends MongoBaseDocument {
     @Field("youtube_minutes")
     private Integer youtubeMinutes;
 
-    /**
-     * TTL 인덱스 - 30일 후 자동 삭제
-     * MongoDB에서 자동으로 문서 삭제 처리
-     */
-    @Field("expire_at")
-    @Indexed(expireAfter = "0s")
-    private Instant expireAt;
-
     @Builder
     private ScreenTimeSnapshot(Long groupId, Long userId, LocalDate date,
-        LocalDateTime recordedAt, Integer screenTimeMinutes,Integer youtubeMinutes,
-        Instant expireAt) {
-        this.groupId = groupId;
-        this.userId = userId;
-        this.date = date;
+        LocalDateTime recordedAt, Integer screenTimeMinutes, Integer youtubeMinutes) {
+        this.meta = new Meta(groupId, userId);
+        this.day = (int) date.toEpochDay();
         this.recordedAt = recordedAt;
         this.screenTimeMinutes = screenTimeMinutes;
         this.youtubeMinutes = youtubeMinutes;
-        this.expireAt = expireAt;
     }
 
     /**
      * 새로운 Snapshot 생성
-     * TTL은 30일 후로 자동 설정
+     * 만료는 컬렉션 expireAfter(30일)로 recorded_at 기준 자동 처리
      */
     public static ScreenTimeSnapshot create(Long groupId, Long userId,
         LocalDate date, Integer screenTimeMinutes, Integer youtubeMinutes) {
-        LocalDateTime now = LocalDateTime.now();
-        // 30일 후 자동 삭제 설정
-        Instant expireAt = now.plusDays(30).atZone(java.time.ZoneId.systemDefault()).toInstant();
-
         return ScreenTimeSnapshot.builder()
             .groupId(groupId)
             .userId(userId)
             .date(date)
-            .recordedAt(now)
+            .recordedAt(LocalDateTime.now())
             .screenTimeMinutes(screenTimeMinutes)
             .youtubeMinutes(youtubeMinutes)
-            .expireAt(expireAt)
             .build();
     }
-}
\ No newline at end of file
+
+    /**
+     * 날짜 (이전 문서는 date, 이후 문서는 d 에서 복원)
+     */
+    public LocalDate getDate() {
+        return day != null ? LocalDate.ofEpochDay(day) : date;
+    }
+
+    public Long getGroupId() {
+        return meta != null ? meta.getGroupId() : null;
+    }
+
+    public Long getUserId() {
+        return meta != null ? meta.getUserId() : null;
+    }
+
+    /**
+     * time-series metaField - 같은 (그룹, 사용자) 측정값이 하나의 버킷으로 묶임
+     */
+    @Getter
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    public static class Meta {
+        @Field("group_id")
+        private Long groupId;
+
+        @Field("user_id")
+        private Long userId;
+
+        public Meta(Long groupId, Long userId) {
+            this.groupId = groupId;
+            this.userId = userId;
+        }
+    }
+}
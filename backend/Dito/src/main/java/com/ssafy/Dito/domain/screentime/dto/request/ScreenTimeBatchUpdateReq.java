@@ -0,0 +1,22 @@
+package com.ssafy.Dito.domain.screentime.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 스크린타임 일괄 갱신 요청 DTO
+ * 오프라인 동안 쌓인 Realm 백로그(여러 날짜 × 여러 그룹)를 한 번에 전송
+ */
+@Schema(description = "스크린타임 일괄 갱신 요청")
+public record ScreenTimeBatchUpdateReq(
+
+    @Schema(description = "갱신 항목 목록 (최대 500개)")
+    @NotEmpty(message = "갱신 항목은 1개 이상이어야 합니다")
+    @Size(max = 500, message = "갱신 항목은 최대 500개까지 전송할 수 있습니다")
+    List<@Valid ScreenTimeUpdateReq> entries
+) {
+}
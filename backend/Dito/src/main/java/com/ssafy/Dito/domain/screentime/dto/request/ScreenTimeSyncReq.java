@@ -0,0 +1,29 @@
+package com.ssafy.Dito.domain.screentime.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 스크린타임 동기화 요청 DTO
+ * 클라이언트는 마지막으로 받은 changeToken 을 보내고, 서버 워터마크보다 큰 로컬(Realm) 행만 entries 로 전송
+ */
+@Schema(description = "스크린타임 동기화 요청")
+public record ScreenTimeSyncReq(
+
+    @Schema(description = "동기화 프로토콜 버전", example = "1")
+    @NotNull(message = "프로토콜 버전은 필수입니다")
+    Integer protocolVersion,
+
+    @Schema(description = "이전 동기화 응답의 changeToken (최초 동기화 / 로컬 초기화 시 생략)", example = "1.lqz3k8xs")
+    @Size(max = 64, message = "changeToken 은 64자 이하여야 합니다")
+    String changeToken,
+
+    @Schema(description = "서버 워터마크보다 큰 로컬 항목 (최대 500개, 워터마크만 조회할 때는 생략)")
+    @Size(max = 500, message = "갱신 항목은 최대 500개까지 전송할 수 있습니다")
+    List<@Valid ScreenTimeUpdateReq> entries
+) {
+}
@@ -3,6 +3,7 @@ package com.ssafy.Dito.domain.screentime.dto.request;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.time.LocalDate;
 
@@ -13,8 +14,7 @@ import java.time.LocalDate;
 @Schema(description = "스크린타임 갱신 요청")
 public record ScreenTimeUpdateReq(
 
-    @Schema(description = "그룹 ID", example = "1")
-    @NotNull(message = "그룹 ID는 필수입니다")
+    @Schema(description = "그룹 ID (선택 - 스크린타임은 사용자 단위로 저장되며 모든 참여 그룹에 공통 반영)", example = "1")
     Long groupId,
 
     @Schema(description = "날짜", example = "2025-01-07")
@@ -30,6 +30,11 @@ public record ScreenTimeUpdateReq(
     @Schema(description = "해당 날짜의 총 유튜브 스크린타임 (분)", example = "120")
 //    @NotNull(message = "스크린타임은 필수입니다")
     @Min(value = 0, message = "스크린타임은 0 이상이어야 합니다")
-    Integer youtubeMinutes
+    Integer youtubeMinutes,
+
+    @Schema(description = "클라이언트 요청 ID (선택, 재시도 시 동일 값 전송 → 중복 저장 없이 최초 응답 반환)",
+        example = "9b2f0c8e-5d1a-4e7b-9a43-1f0c2d7e6a11")
+    @Size(max = 64, message = "요청 ID는 64자 이하여야 합니다")
+    String requestId
 ) {
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.ssafy.Dito.domain.screentime.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 앱 사용 구간 조회 응답 DTO
+ * 조회 구간과 겹치는 포그라운드 앱 사용 구간 (시작 시각순, 조회 구간 밖은 잘라냄)
+ */
+@Schema(description = "앱 사용 구간 조회 응답")
+public record AppSessionsRes(
+
+    @Schema(description = "조회 시작 시각", example = "2025-01-07T00:00:00")
+    LocalDateTime from,
+
+    @Schema(description = "조회 끝 시각", example = "2025-01-08T00:00:00")
+    LocalDateTime to,
+
+    @Schema(description = "앱 사용 구간 목록")
+    List<Session> sessions
+) {
+    public static AppSessionsRes of(LocalDateTime from, LocalDateTime to, List<Session> sessions) {
+        return new AppSessionsRes(from, to, sessions);
+    }
+
+    @Schema(description = "앱 사용 구간")
+    public record Session(
+
+        @Schema(description = "앱 패키지명", example = "com.google.android.youtube")
+        String appPackage,
+
+        @Schema(description = "앱 이름", example = "YouTube")
+        String appName,
+
+        @Schema(description = "시작 시각", example = "2025-01-07T21:03:10")
+        LocalDateTime startAt,
+
+        @Schema(description = "끝 시각", example = "2025-01-07T21:41:55")
+        LocalDateTime endAt,
+
+        @Schema(description = "사용 시간 (초)", example = "2325")
+        long durationSeconds
+    ) {
+        public static Session of(String appPackage, String appName, LocalDateTime startAt, LocalDateTime endAt) {
+            return new Session(appPackage, appName, startAt, endAt,
+                Duration.between(startAt, endAt).getSeconds());
+        }
+    }
+}
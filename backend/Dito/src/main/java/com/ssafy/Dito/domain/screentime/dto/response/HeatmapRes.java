@@ -0,0 +1,50 @@
+package com.ssafy.Dito.domain.screentime.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 요일 × 시간대 사용량 히트맵 응답 DTO
+ */
+@Schema(description = "요일 × 시간대 사용량 히트맵 응답")
+public record HeatmapRes(
+
+    @Schema(description = "집계 시작일", example = "2025-01-06")
+    LocalDate startDate,
+
+    @Schema(description = "집계 종료일", example = "2025-01-19")
+    LocalDate endDate,
+
+    @Schema(description = "집계 대상 사용자 수", example = "4")
+    Integer userCount,
+
+    @Schema(description = "사용량이 있는 셀 목록 (최대 168개, 요일 → 시간대 순)")
+    List<Cell> cells
+) {
+
+    @Schema(description = "히트맵 셀")
+    public record Cell(
+
+        @Schema(description = "요일 (1=월 ~ 7=일)", example = "5")
+        Integer dayOfWeek,
+
+        @Schema(description = "시간대 (0~23)", example = "22")
+        Integer hour,
+
+        @Schema(description = "총 스크린타임 (분)", example = "95")
+        Integer totalMinutes,
+
+        @Schema(description = "YouTube 사용시간 (분)", example = "40")
+        Integer youtubeMinutes
+    ) {
+        public static Cell of(Integer dayOfWeek, Integer hour, Integer totalMinutes, Integer youtubeMinutes) {
+            return new Cell(dayOfWeek, hour, totalMinutes, youtubeMinutes);
+        }
+    }
+
+    public static HeatmapRes of(LocalDate startDate, LocalDate endDate, Integer userCount, List<Cell> cells) {
+        return new HeatmapRes(startDate, endDate, userCount, cells);
+    }
+}
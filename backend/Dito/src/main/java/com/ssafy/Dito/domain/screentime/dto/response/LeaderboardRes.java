@@ -0,0 +1,47 @@
+package com.ssafy.Dito.domain.screentime.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 주간 리더보드 응답 DTO
+ */
+@Schema(description = "주간 리더보드 응답")
+public record LeaderboardRes(
+
+    @Schema(description = "주 시작일 (월요일)", example = "2025-01-13")
+    LocalDate weekStart,
+
+    @Schema(description = "리더보드 전체 사용자 수", example = "102400")
+    Integer totalUsers,
+
+    @Schema(description = "순위 목록 (순위 순)")
+    List<Entry> entries
+) {
+
+    @Schema(description = "리더보드 순위 정보")
+    public record Entry(
+
+        @Schema(description = "순위 (동점자는 같은 순위)", example = "1")
+        Integer rank,
+
+        @Schema(description = "사용자 ID", example = "123")
+        Long userId,
+
+        @Schema(description = "이번 주 YouTube 사용시간 (분)", example = "95")
+        Integer youtubeMinutes,
+
+        @Schema(description = "본인 여부", example = "false")
+        Boolean isMe
+    ) {
+        public static Entry of(Integer rank, Long userId, Integer youtubeMinutes, Boolean isMe) {
+            return new Entry(rank, userId, youtubeMinutes, isMe);
+        }
+    }
+
+    public static LeaderboardRes of(LocalDate weekStart, Integer totalUsers, List<Entry> entries) {
+        return new LeaderboardRes(weekStart, totalUsers, entries);
+    }
+}
@@ -0,0 +1,56 @@
+package com.ssafy.Dito.domain.screentime.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 그룹 랭킹 스트림(SSE) 이벤트 페이로드
+ * - ranking: 구독 직후 전체 랭킹 (GroupRankingRes)
+ * - rank: 순위 / 사용시간이 바뀐 참여자 목록 (List<RankChange>)
+ * - presence: 현재 사용 중인 앱 변경 (Presence)
+ */
+public final class RankingStreamEvent {
+
+    public static final String RANKING = "ranking";
+    public static final String RANK = "rank";
+    public static final String PRESENCE = "presence";
+
+    private RankingStreamEvent() {
+    }
+
+    @Schema(description = "순위 변경 정보")
+    public record RankChange(
+
+        @Schema(description = "사용자 ID", example = "123")
+        Long userId,
+
+        @Schema(description = "순위", example = "1")
+        Integer rank,
+
+        @Schema(description = "챌린지 누적 YouTube 사용시간 (분)", example = "95")
+        Integer youtubeMinutes,
+
+        @Schema(description = "챌린지 누적 총 스크린타임 (분)", example = "410")
+        Integer totalMinutes
+    ) {
+        public static RankChange of(Long userId, Integer rank, Integer youtubeMinutes, Integer totalMinutes) {
+            return new RankChange(userId, rank, youtubeMinutes, totalMinutes);
+        }
+    }
+
+    @Schema(description = "현재 사용 중인 앱 변경 정보")
+    public record Presence(
+
+        @Schema(description = "사용자 ID", example = "123")
+        Long userId,
+
+        @Schema(description = "현재 사용 중인 앱 패키지명", example = "com.google.android.youtube")
+        String currentAppPackage,
+
+        @Schema(description = "현재 사용 중인 앱 이름", example = "YouTube")
+        String currentAppName
+    ) {
+        public static Presence of(Long userId, String currentAppPackage, String currentAppName) {
+            return new Presence(userId, currentAppPackage, currentAppName);
+        }
+    }
+}
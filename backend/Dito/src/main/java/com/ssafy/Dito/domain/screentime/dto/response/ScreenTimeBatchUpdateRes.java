@@ -0,0 +1,20 @@
+package com.ssafy.Dito.domain.screentime.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * 스크린타임 일괄 갱신 응답 DTO
+ * 요청 entries 와 같은 순서로 항목별 처리 결과를 반환
+ */
+@Schema(description = "스크린타임 일괄 갱신 응답")
+public record ScreenTimeBatchUpdateRes(
+
+    @Schema(description = "항목별 처리 결과 (요청 순서와 동일)")
+    List<ScreenTimeUpdateRes> results
+) {
+    public static ScreenTimeBatchUpdateRes of(List<ScreenTimeUpdateRes> results) {
+        return new ScreenTimeBatchUpdateRes(results);
+    }
+}
@@ -0,0 +1,54 @@
+package com.ssafy.Dito.domain.screentime.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 스크린타임 동기화 응답 DTO
+ * changeToken 이후 바뀐 날짜별 서버 값(워터마크)과 다음 동기화에 쓸 changeToken 반환
+ */
+@Schema(description = "스크린타임 동기화 응답")
+public record ScreenTimeSyncRes(
+
+    @Schema(description = "동기화 프로토콜 버전", example = "1")
+    int protocolVersion,
+
+    @Schema(description = "다음 동기화 요청에 보낼 changeToken", example = "1.lqz3k8xs")
+    String changeToken,
+
+    @Schema(description = "전체 동기화 여부 (true 면 windowStart 이후 모든 날짜를 담음 → 클라이언트 워터마크 교체)", example = "false")
+    boolean fullSync,
+
+    @Schema(description = "워터마크 대상 시작 날짜 (이전 날짜는 동기화 대상 아님)", example = "2025-01-01")
+    LocalDate windowStart,
+
+    @Schema(description = "changeToken 이후 바뀐 날짜별 서버 값 (날짜순)")
+    List<Watermark> watermarks,
+
+    @Schema(description = "전송한 entries 의 항목별 처리 결과 (요청 순서와 동일)")
+    List<ScreenTimeUpdateRes> results
+) {
+    public static ScreenTimeSyncRes of(int protocolVersion, String changeToken, boolean fullSync,
+        LocalDate windowStart, List<Watermark> watermarks, List<ScreenTimeUpdateRes> results) {
+        return new ScreenTimeSyncRes(protocolVersion, changeToken, fullSync, windowStart, watermarks, results);
+    }
+
+    @Schema(description = "날짜별 서버 워터마크")
+    public record Watermark(
+
+        @Schema(description = "날짜", example = "2025-01-07")
+        LocalDate date,
+
+        @Schema(description = "서버에 저장된 총 스크린타임 (분)", example = "120")
+        int totalMinutes,
+
+        @Schema(description = "서버에 저장된 유튜브 스크린타임 (분)", example = "30")
+        int youtubeMinutes
+    ) {
+        public static Watermark of(LocalDate date, int totalMinutes, int youtubeMinutes) {
+            return new Watermark(date, totalMinutes, youtubeMinutes);
+        }
+    }
+}
@@ -25,7 +25,7 @@ public record ScreenTimeUpdateRes(
     @Schema(description = "총 유튜브 스크린타임 (분)", example = "120")
     Integer youtubeMinutes,
 
-    @Schema(description = "처리 상태", example = "updated")
+    @Schema(description = "처리 상태 (created / updated / unchanged / duplicate / group_not_found)", example = "updated")
     String status
 ) {
     public static ScreenTimeUpdateRes of(Long groupId, Long userId, LocalDate date, Integer totalMinutes, Integer youtubeMinutes,String status) {
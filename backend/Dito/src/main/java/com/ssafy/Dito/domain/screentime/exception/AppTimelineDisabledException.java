@@ -0,0 +1,13 @@
+package com.ssafy.Dito.domain.screentime.exception;
+
+import com.ssafy.Dito.global.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class AppTimelineDisabledException extends ApiException {
+
+    private static final String message = "앱 사용 타임라인이 활성화되어 있지 않습니다";
+
+    public AppTimelineDisabledException() {
+        super(HttpStatus.NOT_FOUND, message);
+    }
+}
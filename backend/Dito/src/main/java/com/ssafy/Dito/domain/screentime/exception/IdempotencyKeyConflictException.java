@@ -0,0 +1,13 @@
+package com.ssafy.Dito.domain.screentime.exception;
+
+import com.ssafy.Dito.global.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class IdempotencyKeyConflictException extends ApiException {
+
+    private static final String message = "같은 요청 ID로 다른 내용의 요청이 이미 처리되었습니다";
+
+    public IdempotencyKeyConflictException() {
+        super(HttpStatus.CONFLICT, message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ssafy.Dito.domain.screentime.exception;
+
+import com.ssafy.Dito.global.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class IngestQueueFullException extends ApiException {
+
+    private static final String message = "스크린타임 갱신 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.";
+
+    public IngestQueueFullException() {
+        super(HttpStatus.TOO_MANY_REQUESTS, message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.ssafy.Dito.domain.screentime.exception;
+
+import com.ssafy.Dito.global.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class LeaderboardDisabledException extends ApiException {
+
+    private static final String message = "리더보드가 활성화되어 있지 않습니다";
+
+    public LeaderboardDisabledException() {
+        super(HttpStatus.NOT_FOUND, message);
+    }
+}
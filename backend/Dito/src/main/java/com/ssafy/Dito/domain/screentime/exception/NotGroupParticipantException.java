@@ -0,0 +1,13 @@
+package com.ssafy.Dito.domain.screentime.exception;
+
+import com.ssafy.Dito.global.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class NotGroupParticipantException extends ApiException {
+
+    private static final String message = "그룹에 참여하지 않은 사용자입니다";
+
+    public NotGroupParticipantException() {
+        super(HttpStatus.FORBIDDEN, message);
+    }
+}
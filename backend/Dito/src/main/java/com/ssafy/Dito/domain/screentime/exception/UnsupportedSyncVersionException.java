@@ -0,0 +1,13 @@
+package com.ssafy.Dito.domain.screentime.exception;
+
+import com.ssafy.Dito.global.exception.ApiException;
+import org.springframework.http.HttpStatus;
+
+public class UnsupportedSyncVersionException extends ApiException {
+
+    private static final String message = "지원하지 않는 동기화 프로토콜 버전입니다";
+
+    public UnsupportedSyncVersionException() {
+        super(HttpStatus.BAD_REQUEST, message);
+    }
+}
@@ -0,0 +1,159 @@
+package com.ssafy.Dito.domain.screentime.job;
+
+import com.ssafy.Dito.domain.groups.dto.GroupChallengeMeta;
+import com.ssafy.Dito.domain.groups.service.GroupChallengeMetaCache;
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeChallengeTotal;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeChallengeTotalQueryRepository;
+import com.ssafy.Dito.domain.screentime.service.GroupRankingVersions;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 챌린지 누적값(screen_time_challenge_totals) 주기적 재계산
+ *
+ * - $inc 로 유지되는 누적값이 원본(screen_time_daily_usage)과 어긋난 경우 복구
+ *   (재계산과 동시에 들어온 갱신, 부분 실패 등)
+ * - 진행 중이거나 하루 이내에 끝난 챌린지만 대상, 참여자 목록은 기존 누적값 문서 기준
+ *   (신규 참여자 / 기간 변경은 랭킹 조회 시 rebuildAsync 요청으로 반영)
+ * - rebuildAsync: 조회 경로(읽기 전용 트랜잭션)에서 쓰기를 하지 않도록 별도 스레드에서 재계산
+ *   그룹당 대기 중인 요청은 하나만 유지, 주기 실행 여부(enabled)와 무관하게 동작
+ * - 삭제된 그룹의 누적값 / 랭킹 버전은 제거
+ * - 기동 후 interval-minutes 간격으로 실행 (기본 활성, screentime.challenge-total-rebuild.enabled=false 로 끔)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScreenTimeChallengeTotalRebuildJob {
+
+    private final ScreenTimeChallengeTotalQueryRepository challengeTotalQueryRepository;
+    private final GroupChallengeMetaCache groupChallengeMetaCache;
+    private final GroupRankingVersions rankingVersions;
+    private final Set<Long> pendingGroups = ConcurrentHashMap.newKeySet();
+    private final ExecutorService asyncRebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "challenge-total-rebuild-async");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ScheduledExecutorService scheduler;
+
+    @Value("${screentime.challenge-total-rebuild.enabled:true}")
+    private boolean enabled;
+
+    @Value("${screentime.challenge-total-rebuild.interval-minutes:60}")
+    private long intervalMinutes;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void scheduleOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "challenge-total-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::rebuildSafely, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        asyncRebuilder.shutdownNow();
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 그룹 누적값 재계산 요청 (비동기, 같은 그룹이 이미 대기 중이면 무시)
+     *
+     * @param userIds 현재 참여자 목록
+     */
+    public void rebuildAsync(Long groupId, LocalDate startDate, LocalDate endDate, Collection<Long> userIds) {
+        if (!pendingGroups.add(groupId)) {
+            return;
+        }
+        List<Long> participants = List.copyOf(userIds);
+        try {
+            asyncRebuilder.execute(() -> {
+                pendingGroups.remove(groupId);
+                try {
+                    if (!challengeTotalQueryRepository.rebuild(groupId, startDate, endDate, participants)) {
+                        log.warn("챌린지 누적값 재계산 중 갱신이 계속 들어옴 - groupId: {} → 다음 주기에 다시 계산", groupId);
+                    }
+                } catch (Exception e) {
+                    log.error("챌린지 누적값 비동기 재계산 실패 - groupId: {}", groupId, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 종료 중 → 다음 조회 / 주기 실행에서 다시 요청
+            pendingGroups.remove(groupId);
+        }
+    }
+
+    /**
+     * 대상 그룹 전체 재계산
+     *
+     * @return 재계산한 그룹 수
+     */
+    public int rebuildAll() {
+        List<Long> groupIds = challengeTotalQueryRepository.findGroupIdsEndingAfter(LocalDate.now().minusDays(1));
+        log.info("챌린지 누적값 재계산 시작 - groups: {}", groupIds.size());
+
+        int rebuilt = 0;
+        for (Long groupId : groupIds) {
+            if (rebuild(groupId)) {
+                rebuilt++;
+            }
+        }
+
+        log.info("챌린지 누적값 재계산 완료 - rebuilt: {}", rebuilt);
+        return rebuilt;
+    }
+
+    /**
+     * 그룹 하나 재계산 (그룹이 없거나 기간이 정해지지 않았으면 누적값 제거)
+     */
+    public boolean rebuild(Long groupId) {
+        Optional<GroupChallengeMeta> meta = groupChallengeMetaCache.get(groupId);
+        if (meta.isEmpty() || meta.get().startDate() == null || meta.get().endDate() == null) {
+            challengeTotalQueryRepository.deleteByGroupId(groupId);
+            if (meta.isEmpty()) {
+                rankingVersions.evictGroup(groupId);
+            }
+            return false;
+        }
+
+        List<Long> userIds = challengeTotalQueryRepository.findByGroupId(groupId).stream()
+            .map(ScreenTimeChallengeTotal::getUserId)
+            .toList();
+        if (!challengeTotalQueryRepository.rebuild(groupId, meta.get().startDate(), meta.get().endDate(), userIds)) {
+            log.warn("챌린지 누적값 재계산 중 갱신이 계속 들어옴 - groupId: {} → 다음 주기에 다시 계산", groupId);
+        }
+        return true;
+    }
+
+    private void rebuildSafely() {
+        try {
+            rebuildAll();
+        } catch (Exception e) {
+            log.error("챌린지 누적값 재계산 실패", e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.ssafy.Dito.domain.screentime.job;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeDailySummary;
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeDailyUsage;
+import com.ssafy.Dito.domain.screentime.repository.EpochDayCriteria;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * screen_time_daily_summary (그룹 × 사용자 × 날짜) → screen_time_daily_usage (사용자 × 날짜) 백필
+ *
+ * - 서버 측 $group + $merge 한 번으로 처리 (JVM 으로 문서를 가져오지 않음)
+ * - 같은 사용자·날짜가 여러 그룹에 저장돼 있으면 필드별 최대값 사용
+ * - 이미 사용자 단위로 저장된 값과도 $max 로 병합 → 여러 번 실행해도 안전
+ * - 정수 epoch-day(d) 를 파이프라인에서 계산해 함께 저장, (user_id, d) 고유 키로 병합
+ *   → epoch-day 백필(ScreenTimeEpochDayMigrationJob) 로 user_day_unique_idx 가 생긴 뒤에만 실행
+ * - screentime.usage-backfill.enabled=true 이면 기동 후 별도 스레드에서 실행
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScreenTimeDailyUsageBackfillJob {
+
+    private final MongoTemplate mongoTemplate;
+    private final EpochDayCriteria epochDayCriteria;
+
+    @Value("${screentime.usage-backfill.enabled:false}")
+    private boolean enabled;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void backfillOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::backfill, "daily-usage-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @SuppressWarnings("deprecation")
+    public void backfill() {
+        String source = mongoTemplate.getCollectionName(ScreenTimeDailySummary.class);
+        String target = mongoTemplate.getCollectionName(ScreenTimeDailyUsage.class);
+
+        if (!mongoTemplate.collectionExists(source)) {
+            log.info("기존 Summary 컬렉션이 없어 백필 생략");
+            return;
+        }
+        if (!epochDayCriteria.isUsageMigrated()) {
+            log.warn("epoch-day 백필이 완료되지 않아 일별 사용량 백필 생략 (user_day_unique_idx 필요)");
+            return;
+        }
+
+        List<Document> pipeline = List.of(
+            new Document("$group", new Document("_id",
+                new Document("user_id", "$user_id").append("date", "$date"))
+                .append("total_minutes", new Document("$max", "$total_minutes"))
+                .append("youtube_minutes", new Document("$max", "$youtube_minutes"))
+                .append("last_updated_at", new Document("$max", "$last_updated_at"))),
+            new Document("$project", new Document("_id", 0)
+                .append("user_id", "$_id.user_id")
+                .append("date", "$_id.date")
+                .append(EpochDayCriteria.FIELD, epochDay("$_id.date"))
+                .append("total_minutes", 1)
+                .append("youtube_minutes", 1)
+                .append("last_updated_at", 1)
+                .append("_class", new Document("$literal", ScreenTimeDailyUsage.class.getName()))),
+            new Document("$merge", new Document("into", target)
+                .append("on", List.of("user_id", EpochDayCriteria.FIELD))
+                .append("whenMatched", List.of(new Document("$set", new Document()
+                    .append("total_minutes", maxWithNew("total_minutes"))
+                    .append("youtube_minutes", maxWithNew("youtube_minutes"))
+                    .append("last_updated_at", maxWithNew("last_updated_at")))))
+                .append("whenNotMatched", "insert"))
+        );
+
+        log.info("일별 사용량 백필 시작 - {} → {}", source, target);
+        mongoTemplate.getCollection(source)
+            .aggregate(pipeline)
+            .allowDiskUse(true)
+            .toCollection();
+        log.info("일별 사용량 백필 완료");
+    }
+
+    /**
+     * "yyyy-MM-dd" 문자열 → epoch-day 정수 (UTC 자정 기준 일수, LocalDate.toEpochDay 와 동일)
+     */
+    private Document epochDay(String dateExpression) {
+        return new Document("$toInt", new Document("$dateDiff", new Document()
+            .append("startDate", new Date(0))
+            .append("endDate", new Document("$dateFromString", new Document()
+                .append("dateString", dateExpression)
+                .append("format", "%Y-%m-%d")
+                .append("timezone", "UTC")))
+            .append("unit", "day")
+            .append("timezone", "UTC")));
+    }
+
+    private Document maxWithNew(String field) {
+        return new Document("$max", List.of("$" + field, "$$new." + field));
+    }
+}
@@ -0,0 +1,158 @@
+package com.ssafy.Dito.domain.screentime.job;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeDailyUsage;
+import com.ssafy.Dito.domain.screentime.repository.EpochDayCriteria;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * screen_time_daily_usage 정수 epoch-day(d) 백필 (온라인)
+ *
+ * - 신규 / 갱신 문서는 upsert 시 d 를 함께 저장 → d 가 없는 기존 문서만 대상
+ * - _id 순으로 batchSize 단위 bulk update, 배치마다 migration_checkpoints 에 마지막 _id 기록 → 중단 후 재시작 가능
+ * - 백필 중에는 기간 조회가 d 범위 + (d 없음 AND date 문자열 범위) 로 이중 조회
+ *   완료 시 체크포인트에 completed 기록 → d 범위만 조회 (EpochDayCriteria)
+ * - 완료 후 고유 키를 (user_id, d) 로 이동: user_day_unique_idx 생성 → user_date_unique_idx / user_day_idx 삭제
+ * - screentime.epoch-day-migration.enabled=true 이면 기동 후 별도 스레드에서 실행
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScreenTimeEpochDayMigrationJob {
+
+    private static final String USAGE_UNIQUE_INDEX = "user_day_unique_idx";
+    private static final List<String> LEGACY_USAGE_INDEXES = List.of("user_date_unique_idx", "user_day_idx");
+
+    private final MongoTemplate mongoTemplate;
+    private final EpochDayCriteria epochDayCriteria;
+
+    @Value("${screentime.epoch-day-migration.enabled:false}")
+    private boolean enabled;
+
+    @Value("${screentime.epoch-day-migration.batch-size:1000}")
+    private int batchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void backfillOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::backfill, "epoch-day-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * d 가 없는 일별 사용량 문서에 d 기록
+     *
+     * @return 이번 실행에서 갱신한 문서 수
+     */
+    public long backfill() {
+        ObjectId lastId = loadCheckpoint();
+        long updated = 0;
+        log.info("일별 사용량 epoch-day 백필 시작 - checkpoint: {}", lastId);
+
+        while (true) {
+            Criteria criteria = Criteria.where(EpochDayCriteria.FIELD).exists(false);
+            if (lastId != null) {
+                criteria = criteria.and("_id").gt(lastId);
+            }
+            Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(batchSize);
+            query.fields().include("_id").include("date");
+
+            List<Document> batch = mongoTemplate.find(query, Document.class,
+                mongoTemplate.getCollectionName(ScreenTimeDailyUsage.class));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            BulkOperations bulkOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, ScreenTimeDailyUsage.class);
+            int count = 0;
+            for (Document doc : batch) {
+                String date = doc.getString("date");
+                if (date == null) {
+                    continue;
+                }
+                bulkOps.updateOne(
+                    Query.query(Criteria.where("_id").is(doc.getObjectId("_id"))
+                        .and(EpochDayCriteria.FIELD).exists(false)),
+                    Update.update(EpochDayCriteria.FIELD, EpochDayCriteria.day(LocalDate.parse(date)))
+                );
+                count++;
+            }
+            if (count > 0) {
+                bulkOps.execute();
+            }
+
+            lastId = batch.get(batch.size() - 1).getObjectId("_id");
+            updated += batch.size();
+            saveCheckpoint(lastId, batch.size());
+        }
+
+        moveUniqueKey();
+        epochDayCriteria.markUsageMigrated();
+        log.info("일별 사용량 epoch-day 백필 완료 - updated: {}", updated);
+        return updated;
+    }
+
+    /**
+     * 고유 키를 date 문자열에서 d 로 이동 (이미 옮겼으면 아무것도 하지 않음)
+     * 새 unique 인덱스를 먼저 만들어 고유 키가 없는 구간이 생기지 않게 함
+     */
+    private void moveUniqueKey() {
+        IndexOperations indexOps = mongoTemplate.indexOps(ScreenTimeDailyUsage.class);
+        indexOps.ensureIndex(new Index()
+            .on("user_id", Sort.Direction.ASC)
+            .on(EpochDayCriteria.FIELD, Sort.Direction.ASC)
+            .unique()
+            .named(USAGE_UNIQUE_INDEX));
+
+        List<String> existing = indexOps.getIndexInfo().stream()
+            .map(IndexInfo::getName)
+            .toList();
+        for (String legacy : LEGACY_USAGE_INDEXES) {
+            if (existing.contains(legacy)) {
+                indexOps.dropIndex(legacy);
+                log.info("일별 사용량 기존 인덱스 삭제 - {}", legacy);
+            }
+        }
+    }
+
+    private ObjectId loadCheckpoint() {
+        Document checkpoint = mongoTemplate.findById(EpochDayCriteria.USAGE_CHECKPOINT_ID, Document.class,
+            ScreenTimeSnapshotMigrationJob.CHECKPOINT_COLLECTION);
+        return checkpoint != null ? checkpoint.getObjectId("last_id") : null;
+    }
+
+    private void saveCheckpoint(ObjectId lastId, int batchCount) {
+        mongoTemplate.upsert(
+            Query.query(Criteria.where("_id").is(EpochDayCriteria.USAGE_CHECKPOINT_ID)),
+            new Update()
+                .set("last_id", lastId)
+                .inc("updated", batchCount)
+                .currentDate("updated_at"),
+            ScreenTimeSnapshotMigrationJob.CHECKPOINT_COLLECTION
+        );
+    }
+}
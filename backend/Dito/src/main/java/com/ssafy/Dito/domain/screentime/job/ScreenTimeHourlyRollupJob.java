@@ -0,0 +1,173 @@
+package com.ssafy.Dito.domain.screentime.job;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeSnapshot;
+import com.ssafy.Dito.domain.screentime.repository.EpochDayCriteria;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeHourlyUsageQueryRepository;
+import com.ssafy.Dito.domain.screentime.service.HourlyDistribution;
+import com.ssafy.Dito.domain.screentime.service.ScreenTimeZone;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시간대별 사용량(screen_time_hourly_usage) Snapshot 기반 재계산
+ *
+ * - 업로드 시 $inc 로 쌓이는 시간대 값이 누락된 경우 복구 (비동기 적재 실패, 배포 이전 데이터 등)
+ * - 사용자별 Snapshot 을 recorded_at 순으로 읽어 누적 최대값의 증가분을 직전 Snapshot ~ 현재 Snapshot 구간에 분배
+ *   (여러 그룹에 중복 저장된 Snapshot, 늦게 도착한 낮은 값은 증가분 0)
+ * - 진행 중인 오늘은 제외, 어제부터 lookback-days 일 전까지 날짜 단위로 덮어쓰기 → 여러 번 실행해도 안전
+ * - screentime.hourly-rollup.enabled=true 이면 기동 후 interval-minutes 간격으로 실행
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScreenTimeHourlyRollupJob {
+
+    private final MongoTemplate mongoTemplate;
+    private final ScreenTimeHourlyUsageQueryRepository hourlyUsageQueryRepository;
+    private final EpochDayCriteria epochDayCriteria;
+    private final ScreenTimeZone screenTimeZone;
+    private ScheduledExecutorService scheduler;
+
+    @Value("${screentime.hourly-rollup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${screentime.hourly-rollup.lookback-days:2}")
+    private int lookbackDays;
+
+    @Value("${screentime.hourly-rollup.interval-minutes:360}")
+    private long intervalMinutes;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void scheduleOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "hourly-rollup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::rollupSafely, 0, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 어제부터 lookback-days 일 전까지 재계산 (서비스 시간대 기준 날짜)
+     */
+    public void rollupRecent() {
+        LocalDate today = screenTimeZone.today();
+        for (int days = 1; days <= lookbackDays; days++) {
+            rollup(today.minusDays(days));
+        }
+    }
+
+    /**
+     * 날짜 하나 재계산
+     *
+     * @return 재계산한 사용자 수
+     */
+    public int rollup(LocalDate date) {
+        Query query = Query.query(epochDayCriteria.snapshotDay(date))
+            .with(Sort.by(Sort.Direction.ASC, "meta.user_id", "recorded_at"))
+            .allowDiskUse(true);  // 하루치 Snapshot 정렬이 메모리 제한(100MB)을 넘을 수 있음
+
+        int users = 0;
+        UserDay current = null;
+        try (CloseableIterator<ScreenTimeSnapshot> snapshots = mongoTemplate.stream(query, ScreenTimeSnapshot.class)) {
+            while (snapshots.hasNext()) {
+                ScreenTimeSnapshot snapshot = snapshots.next();
+                if (snapshot.getUserId() == null) {
+                    continue;
+                }
+                if (current == null || !current.userId.equals(snapshot.getUserId())) {
+                    if (current != null) {
+                        current.save();
+                        users++;
+                    }
+                    current = new UserDay(snapshot.getUserId(), date);
+                }
+                current.add(snapshot);
+            }
+        }
+        if (current != null) {
+            current.save();
+            users++;
+        }
+
+        log.info("시간대별 사용량 재계산 완료 - date: {}, users: {}", date, users);
+        return users;
+    }
+
+    private void rollupSafely() {
+        try {
+            rollupRecent();
+        } catch (Exception e) {
+            log.error("시간대별 사용량 재계산 실패", e);
+        }
+    }
+
+    /**
+     * 사용자 하루치 누적 (Snapshot 은 recorded_at 오름차순으로 들어옴)
+     */
+    private class UserDay {
+
+        private final Long userId;
+        private final LocalDate date;
+        private final int[] totalMinutes = new int[HourlyDistribution.HOURS];
+        private final int[] youtubeMinutes = new int[HourlyDistribution.HOURS];
+        private LocalDateTime lastRecordedAt;
+        private int maxTotal;
+        private int maxYoutube;
+
+        private UserDay(Long userId, LocalDate date) {
+            this.userId = userId;
+            this.date = date;
+        }
+
+        private void add(ScreenTimeSnapshot snapshot) {
+            int total = Objects.requireNonNullElse(snapshot.getScreenTimeMinutes(), 0);
+            int youtube = Objects.requireNonNullElse(snapshot.getYoutubeMinutes(), 0);
+            // recorded_at 은 서버 시간대로 읽히므로 날짜 / 시간대 경계와 같은 서비스 시간대로 변환
+            LocalDateTime recordedAt = screenTimeZone.toServiceTime(snapshot.getRecordedAt());
+
+            accumulate(totalMinutes, HourlyDistribution.spread(date, lastRecordedAt, recordedAt, Math.max(0, total - maxTotal)));
+            accumulate(youtubeMinutes, HourlyDistribution.spread(date, lastRecordedAt, recordedAt, Math.max(0, youtube - maxYoutube)));
+
+            maxTotal = Math.max(maxTotal, total);
+            maxYoutube = Math.max(maxYoutube, youtube);
+            lastRecordedAt = recordedAt;
+        }
+
+        private void save() {
+            hourlyUsageQueryRepository.replaceDay(userId, date, totalMinutes, youtubeMinutes);
+        }
+
+        private void accumulate(int[] target, int[] hours) {
+            for (int hour = 0; hour < HourlyDistribution.HOURS; hour++) {
+                target[hour] += hours[hour];
+            }
+        }
+    }
+}
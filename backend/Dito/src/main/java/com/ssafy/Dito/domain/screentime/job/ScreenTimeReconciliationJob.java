@@ -0,0 +1,352 @@
+package com.ssafy.Dito.domain.screentime.job;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeDailyUsage;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeChallengeTotalQueryRepository;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeChallengeTotalQueryRepository.UsageDelta;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeDailyUsageQueryRepository;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeSnapshotQueryRepository;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeSnapshotQueryRepository.DailyMax;
+import com.ssafy.Dito.domain.screentime.service.GroupRankingVersions;
+import com.ssafy.Dito.domain.screentime.service.ScreenTimeMetrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 일별 사용량 ↔ Snapshot 정합성 검사 / 복구
+ *
+ * - 일별 사용량 upsert 와 Snapshot 저장은 별도 연산 → 그 사이 장애 / 롤백으로 어긋날 수 있음
+ * - (사용자, 날짜) 마다 일별 사용량이 그날 Snapshot 최대값 이상인지 확인
+ *   작으면(또는 없으면) Snapshot 최대값으로 $max upsert, 커진 만큼 챌린지 누적값에 반영
+ *   Snapshot 이 없는 일별 사용량은 검증 불가로 집계만 함 (Snapshot 은 write-behind 라 유실될 수 있음)
+ * - 검사 기간: 어제부터 lookback-days 일 (Snapshot 보관 기간 이내, 오늘은 갱신 중이라 제외)
+ * - 사용자 ID 범위를 chunk-users 단위 구간으로 나눠 parallelism 개 스레드가 병렬 처리
+ *   구간마다 user_day_idx 범위 스캔 두 번 (Snapshot $group, 일별 사용량) 후 메모리 비교
+ * - 실행 범위 / 완료 구간을 migration_checkpoints 에 기록 → 중단 후 재기동 시 남은 구간만 처리
+ * - 구간별 실패 횟수를 기록, max-chunk-attempts 번 실패한 구간은 실패로 확정하고 건너뜀
+ *   → 모든 구간이 완료 또는 실패로 확정되면 실행 종료, 다음 주기에 새 기간으로 실행
+ * - screentime.reconciliation.enabled=true 이면 기동 후 interval-hours 간격으로 실행
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScreenTimeReconciliationJob {
+
+    private static final String CHECKPOINT_ID = "screen_time_usage_reconciliation";
+
+    private final MongoTemplate mongoTemplate;
+    private final ScreenTimeSnapshotQueryRepository snapshotQueryRepository;
+    private final ScreenTimeDailyUsageQueryRepository usageQueryRepository;
+    private final ScreenTimeChallengeTotalQueryRepository challengeTotalQueryRepository;
+    private final GroupRankingVersions rankingVersions;
+    private final ScreenTimeMetrics metrics;
+    private ScheduledExecutorService scheduler;
+
+    @Value("${screentime.reconciliation.enabled:false}")
+    private boolean enabled;
+
+    @Value("${screentime.reconciliation.lookback-days:7}")
+    private int lookbackDays;
+
+    @Value("${screentime.reconciliation.chunk-users:500}")
+    private long chunkUsers;
+
+    @Value("${screentime.reconciliation.parallelism:4}")
+    private int parallelism;
+
+    @Value("${screentime.reconciliation.interval-hours:24}")
+    private long intervalHours;
+
+    @Value("${screentime.reconciliation.max-chunk-attempts:3}")
+    private int maxChunkAttempts;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void scheduleOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "usage-reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::reconcileSafely, 0, intervalHours, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 정합성 검사 1회 (완료되지 않은 이전 실행이 있으면 이어서 처리)
+     *
+     * @return 복구한 (사용자, 날짜) 수
+     */
+    public int reconcile() throws InterruptedException {
+        Run run = loadOrStartRun();
+        if (run == null) {
+            return 0;
+        }
+
+        List<Integer> pending = new ArrayList<>();
+        for (int chunk = 0; chunk < run.chunkCount(); chunk++) {
+            if (!run.doneChunks().contains(chunk) && !run.failedChunks().contains(chunk)) {
+                pending.add(chunk);
+            }
+        }
+        log.info("정합성 검사 시작 - {} ~ {}, users: {} ~ {}, chunks: {}/{}, failed: {}",
+            run.startDate(), run.endDate(), run.minUserId(), run.maxUserId(), pending.size(), run.chunkCount(),
+            run.failedChunks().size());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "usage-reconciliation-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        int repaired = 0;
+        int retrying = 0;
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int chunk : pending) {
+                futures.add(workers.submit(() -> reconcileChunk(run, chunk)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    repaired += futures.get(i).get();
+                } catch (ExecutionException e) {
+                    log.error("정합성 검사 구간 실패 - chunk: {}", pending.get(i), e.getCause());
+                    if (!recordChunkFailure(run, pending.get(i))) {
+                        retrying++;
+                    }
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        // 재시도할 구간이 남아 있으면 완료 처리하지 않음 → 다음 실행에서 남은 구간만 다시 처리
+        if (retrying == 0) {
+            mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(CHECKPOINT_ID)),
+                new Update().set("completed", true).currentDate("updated_at"),
+                ScreenTimeSnapshotMigrationJob.CHECKPOINT_COLLECTION
+            );
+        }
+        log.info("정합성 검사 종료 - chunks: {}, retrying: {}, repaired: {}", pending.size(), retrying, repaired);
+        return repaired;
+    }
+
+    /**
+     * 사용자 ID 구간 하나 검사 / 복구 후 완료 기록
+     *
+     * @return 복구한 (사용자, 날짜) 수
+     */
+    private int reconcileChunk(Run run, int chunk) {
+        Timer.Sample sample = metrics.start();
+        long fromUserId = run.minUserId() + chunk * run.chunkUsers();
+        long toUserId = Math.min(fromUserId + run.chunkUsers() - 1, run.maxUserId());
+
+        List<DailyMax> snapshotMax = snapshotQueryRepository.findDailyMax(
+            fromUserId, toUserId, run.startDate(), run.endDate());
+        Map<Long, Map<LocalDate, ScreenTimeDailyUsage>> usageByUser = new HashMap<>();
+        for (ScreenTimeDailyUsage usage : usageQueryRepository.findByUserIdRangeAndDays(
+                fromUserId, toUserId, run.startDate(), run.endDate())) {
+            usageByUser.computeIfAbsent(usage.getUserId(), id -> new HashMap<>())
+                .put(usage.getDateAsLocalDate(), usage);
+        }
+
+        int repaired = 0;
+        int verified = 0;
+        Map<Long, List<UsageDelta>> deltasByUser = new HashMap<>();
+        for (DailyMax max : snapshotMax) {
+            ScreenTimeDailyUsage usage = usageByUser.getOrDefault(max.userId(), Map.of()).get(max.date());
+            if (usage != null) {
+                verified++;
+            }
+            if (!isBehind(usage, max)) {
+                continue;
+            }
+            // findAndModify 로 갱신 직전 값을 받아 변화분 계산 → 동시에 들어온 업로드와 중복 반영되지 않음
+            ScreenTimeDailyUsage previous = usageQueryRepository.upsertMax(
+                max.userId(), max.date(), max.totalMinutes(), max.youtubeMinutes());
+            UsageDelta delta = toDelta(max, previous);
+            if (delta.totalMinutes() > 0 || delta.youtubeMinutes() > 0) {
+                deltasByUser.computeIfAbsent(max.userId(), id -> new ArrayList<>()).add(delta);
+                repaired++;
+            }
+        }
+
+        deltasByUser.forEach((userId, deltas) -> {
+            challengeTotalQueryRepository.bulkApplyDeltas(userId, deltas);
+            rankingVersions.bumpUser(userId);
+        });
+
+        int usageCount = usageByUser.values().stream().mapToInt(Map::size).sum();
+        int unverified = usageCount - verified;
+        metrics.recordReconcile(sample, snapshotMax.size() + unverified, repaired, unverified);
+
+        mongoTemplate.updateFirst(
+            Query.query(Criteria.where("_id").is(CHECKPOINT_ID)),
+            new Update().addToSet("done_chunks", chunk).inc("repaired", repaired).currentDate("updated_at"),
+            ScreenTimeSnapshotMigrationJob.CHECKPOINT_COLLECTION
+        );
+        if (repaired > 0) {
+            log.info("정합성 복구 - users: {} ~ {}, repaired: {}", fromUserId, toUserId, repaired);
+        }
+        return repaired;
+    }
+
+    /**
+     * 구간 실패 횟수 기록
+     *
+     * @return 최대 시도 횟수에 도달해 실패로 확정했으면 true (이후 실행에서 건너뜀)
+     */
+    private boolean recordChunkFailure(Run run, int chunk) {
+        int attempts = run.attempts().getOrDefault(chunk, 0) + 1;
+        Update update = new Update().inc("attempts." + chunk, 1).currentDate("updated_at");
+        boolean exhausted = attempts >= maxChunkAttempts;
+        if (exhausted) {
+            update.addToSet("failed_chunks", chunk);
+            log.error("정합성 검사 구간 실패 확정 - chunk: {}, attempts: {}", chunk, attempts);
+        }
+        mongoTemplate.updateFirst(
+            Query.query(Criteria.where("_id").is(CHECKPOINT_ID)),
+            update,
+            ScreenTimeSnapshotMigrationJob.CHECKPOINT_COLLECTION
+        );
+        return exhausted;
+    }
+
+    private boolean isBehind(ScreenTimeDailyUsage usage, DailyMax max) {
+        if (usage == null) {
+            return true;
+        }
+        return Objects.requireNonNullElse(usage.getTotalMinutes(), 0) < max.totalMinutes()
+            || Objects.requireNonNullElse(usage.getYoutubeMinutes(), 0) < max.youtubeMinutes();
+    }
+
+    private UsageDelta toDelta(DailyMax max, ScreenTimeDailyUsage previous) {
+        int previousTotal = previous != null ? Objects.requireNonNullElse(previous.getTotalMinutes(), 0) : 0;
+        int previousYoutube = previous != null ? Objects.requireNonNullElse(previous.getYoutubeMinutes(), 0) : 0;
+        return new UsageDelta(
+            max.date(),
+            Math.max(max.totalMinutes() - previousTotal, 0),
+            Math.max(max.youtubeMinutes() - previousYoutube, 0)
+        );
+    }
+
+    /**
+     * 완료되지 않은 실행이 있으면 그 범위를 그대로 사용, 없으면 새 실행 범위 기록
+     *
+     * @return 검사할 Snapshot 이 없으면 null
+     */
+    private Run loadOrStartRun() {
+        Document checkpoint = mongoTemplate.findById(CHECKPOINT_ID, Document.class,
+            ScreenTimeSnapshotMigrationJob.CHECKPOINT_COLLECTION);
+        if (checkpoint != null && !Boolean.TRUE.equals(checkpoint.getBoolean("completed"))) {
+            return Run.from(checkpoint);
+        }
+
+        LocalDate endDate = LocalDate.now().minusDays(1);
+        LocalDate startDate = endDate.minusDays(lookbackDays - 1L);
+        long[] userIdRange = snapshotQueryRepository.findUserIdRange(startDate, endDate);
+        if (userIdRange == null) {
+            return null;
+        }
+
+        Run run = new Run(startDate, endDate, userIdRange[0], userIdRange[1], Math.max(1, chunkUsers),
+            Set.of(), Set.of(), Map.of());
+        mongoTemplate.upsert(
+            Query.query(Criteria.where("_id").is(CHECKPOINT_ID)),
+            new Update()
+                .set("start_date", startDate.toString())
+                .set("end_date", endDate.toString())
+                .set("min_user_id", run.minUserId())
+                .set("max_user_id", run.maxUserId())
+                .set("chunk_users", run.chunkUsers())
+                .set("done_chunks", List.of())
+                .set("failed_chunks", List.of())
+                .set("attempts", new Document())
+                .set("repaired", 0)
+                .set("completed", false)
+                .currentDate("started_at")
+                .currentDate("updated_at"),
+            ScreenTimeSnapshotMigrationJob.CHECKPOINT_COLLECTION
+        );
+        return run;
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("정합성 검사 실패", e);
+        }
+    }
+
+    /**
+     * 실행 범위 (재시작 시 checkpoint 에서 복원)
+     *
+     * @param attempts 구간별 실패 횟수
+     */
+    private record Run(LocalDate startDate, LocalDate endDate, long minUserId, long maxUserId,
+                       long chunkUsers, Set<Integer> doneChunks, Set<Integer> failedChunks,
+                       Map<Integer, Integer> attempts) {
+
+        int chunkCount() {
+            return (int) ((maxUserId - minUserId) / chunkUsers) + 1;
+        }
+
+        static Run from(Document checkpoint) {
+            Set<Integer> done = new HashSet<>(checkpoint.getList("done_chunks", Integer.class, List.of()));
+            Set<Integer> failed = new HashSet<>(checkpoint.getList("failed_chunks", Integer.class, List.of()));
+            Map<Integer, Integer> attempts = new HashMap<>();
+            Document attemptDoc = checkpoint.get("attempts", Document.class);
+            if (attemptDoc != null) {
+                attemptDoc.forEach((chunk, count) -> attempts.put(Integer.parseInt(chunk), ((Number) count).intValue()));
+            }
+            return new Run(
+                LocalDate.parse(checkpoint.getString("start_date")),
+                LocalDate.parse(checkpoint.getString("end_date")),
+                ((Number) checkpoint.get("min_user_id")).longValue(),
+                ((Number) checkpoint.get("max_user_id")).longValue(),
+                ((Number) checkpoint.get("chunk_users")).longValue(),
+                done,
+                failed,
+                attempts
+            );
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ssafy.Dito.domain.screentime.job;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeSnapshot;
+import com.ssafy.Dito.domain.screentime.repository.EpochDayCriteria;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeSnapshotArchive;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.util.CloseableIterator;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 만료 예정 Snapshot 을 로컬 세그먼트 파일로 보관 (ScreenTimeSnapshotArchive)
+ *
+ * - Snapshot 은 time-series 컬렉션 expireAfter(30일)로 자동 삭제 → 삭제 전에 날짜 단위로 보관
+ * - 보관 대상: archive-after-days 일 이상 지난 날짜 중 아직 세그먼트가 없는 날짜 (retention-days 이내)
+ * - Mongo cursor 로 사용자 → recorded_at 순 스트리밍, 메모리에는 사용자 한 명 분량만 유지
+ * - screentime.snapshot-archive.enabled=true 이면 기동 후 interval-hours 간격으로 실행
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScreenTimeSnapshotArchiveJob {
+
+    private final MongoTemplate mongoTemplate;
+    private final ScreenTimeSnapshotArchive snapshotArchive;
+    private final EpochDayCriteria epochDayCriteria;
+    private ScheduledExecutorService scheduler;
+
+    @Value("${screentime.snapshot-archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${screentime.snapshot-archive.archive-after-days:27}")
+    private int archiveAfterDays;
+
+    @Value("${screentime.snapshot-archive.retention-days:30}")
+    private int retentionDays;
+
+    @Value("${screentime.snapshot-archive.interval-hours:24}")
+    private long intervalHours;
+
+    @EventListener(ApplicationReadyEvent.class)
+    void scheduleOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot-archive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::archiveSafely, 0, intervalHours, TimeUnit.HOURS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 보관 대상 날짜 중 세그먼트가 없는 날짜 보관
+     *
+     * @return 보관한 날짜 수
+     */
+    public int archiveExpiring() {
+        LocalDate today = LocalDate.now();
+        int archived = 0;
+        for (int days = retentionDays; days >= archiveAfterDays; days--) {
+            LocalDate date = today.minusDays(days);
+            if (!snapshotArchive.isArchived(date) && archive(date) > 0) {
+                archived++;
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * 날짜 하나 보관 (Snapshot 이 없으면 파일을 만들지 않음)
+     *
+     * @return 보관한 행 수
+     */
+    public int archive(LocalDate date) {
+        Query query = Query.query(epochDayCriteria.snapshotDay(date))
+            .with(Sort.by(Sort.Direction.ASC, "meta.user_id", "recorded_at"))
+            .allowDiskUse(true);  // 하루치 Snapshot 정렬이 메모리 제한(100MB)을 넘을 수 있음
+        if (!mongoTemplate.exists(query, ScreenTimeSnapshot.class)) {
+            return 0;
+        }
+        try (CloseableIterator<ScreenTimeSnapshot> snapshots = mongoTemplate.stream(query, ScreenTimeSnapshot.class)) {
+            return snapshotArchive.write(date, snapshots);
+        }
+    }
+
+    private void archiveSafely() {
+        try {
+            int archived = archiveExpiring();
+            log.info("Snapshot 아카이브 완료 - dates: {}", archived);
+        } catch (Exception e) {
+            log.error("Snapshot 아카이브 실패", e);
+        }
+    }
+}
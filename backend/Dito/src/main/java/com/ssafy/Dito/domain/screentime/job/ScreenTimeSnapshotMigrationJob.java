@@ -0,0 +1,173 @@
+package com.ssafy.Dito.domain.screentime.job;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeSnapshot;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * screen_time_snapshots (일반 컬렉션) → screen_time_snapshots_ts (time-series 컬렉션) 마이그레이션
+ *
+ * - 기동 시 time-series 컬렉션이 없으면 @TimeSeries 설정으로 생성
+ *   (insert 로 암묵 생성되면 일반 컬렉션이 되므로 반드시 먼저 생성)
+ * - screentime.snapshot-migration.enabled=true 이면 기동 후 별도 스레드에서 백필 수행
+ * - _id 순으로 batchSize 단위 복사, 배치마다 migration_checkpoints 에 마지막 _id 기록 → 중단 후 재시작 가능
+ *   insert 후 체크포인트 저장 전에 중단되면 그 배치가 이미 복사되어 있을 수 있음
+ *   (time-series 컬렉션은 _id 고유성을 보장하지 않음) → 재시작 후 첫 배치는 대상에 이미 있는 _id 를 건너뜀
+ * - 이미 만료된(expire_at 지난) 문서는 복사하지 않음
+ * - 기존 컬렉션은 TTL 인덱스로 30일 내 자연 소멸하므로 백필 완료 후 drop 해도 됨
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScreenTimeSnapshotMigrationJob {
+
+    public static final String CHECKPOINT_COLLECTION = "migration_checkpoints";
+    private static final String CHECKPOINT_ID = "screen_time_snapshots_ts_backfill";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${screentime.snapshot-migration.enabled:false}")
+    private boolean backfillEnabled;
+
+    @Value("${screentime.snapshot-migration.batch-size:1000}")
+    private int batchSize;
+
+    @PostConstruct
+    void ensureTimeSeriesCollection() {
+        if (!mongoTemplate.collectionExists(ScreenTimeSnapshot.class)) {
+            mongoTemplate.createCollection(ScreenTimeSnapshot.class);
+            log.info("time-series 컬렉션 생성 완료: {}", ScreenTimeSnapshot.COLLECTION);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void backfillOnStartup() {
+        if (!backfillEnabled) {
+            return;
+        }
+        Thread thread = new Thread(this::backfill, "snapshot-ts-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 기존 컬렉션의 미만료 Snapshot 을 time-series 컬렉션으로 복사
+     *
+     * @return 이번 실행에서 복사한 문서 수
+     */
+    public long backfill() {
+        if (!mongoTemplate.collectionExists(ScreenTimeSnapshot.LEGACY_COLLECTION)) {
+            log.info("기존 Snapshot 컬렉션이 없어 백필 생략");
+            return 0;
+        }
+
+        ObjectId lastId = loadCheckpoint();
+        long copied = 0;
+        log.info("Snapshot time-series 백필 시작 - checkpoint: {}", lastId);
+        Set<Object> alreadyCopied = lastId != null ? copiedAfter(lastId) : Set.of();
+
+        while (true) {
+            Criteria criteria = Criteria.where("expire_at").gt(new Date());
+            if (lastId != null) {
+                criteria = criteria.and("_id").gt(lastId);
+            }
+            Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(batchSize);
+
+            List<Document> legacy = mongoTemplate.find(query, Document.class, ScreenTimeSnapshot.LEGACY_COLLECTION);
+            if (legacy.isEmpty()) {
+                break;
+            }
+
+            List<Document> converted = new ArrayList<>(legacy.size());
+            for (Document doc : legacy) {
+                if (!alreadyCopied.contains(doc.get("_id"))) {
+                    converted.add(toTimeSeries(doc));
+                }
+            }
+            if (!converted.isEmpty()) {
+                mongoTemplate.insert(converted, ScreenTimeSnapshot.COLLECTION);
+            }
+            alreadyCopied = Set.of();
+
+            lastId = legacy.get(legacy.size() - 1).getObjectId("_id");
+            copied += legacy.size();
+            saveCheckpoint(lastId, legacy.size());
+        }
+
+        log.info("Snapshot time-series 백필 완료 - copied: {}", copied);
+        return copied;
+    }
+
+    /**
+     * 체크포인트 직후 배치 중 대상 컬렉션에 이미 있는 _id (중단 직전 insert 된 배치)
+     * 만료 여부와 관계없이 직전 배치 범위를 그대로 확인
+     */
+    private Set<Object> copiedAfter(ObjectId lastId) {
+        Query next = Query.query(Criteria.where("_id").gt(lastId))
+            .with(Sort.by(Sort.Direction.ASC, "_id"))
+            .limit(batchSize);
+        next.fields().include("_id");
+        List<Object> ids = mongoTemplate.find(next, Document.class, ScreenTimeSnapshot.LEGACY_COLLECTION).stream()
+            .map(doc -> doc.get("_id"))
+            .toList();
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        Query existing = Query.query(Criteria.where("_id").in(ids));
+        existing.fields().include("_id");
+        Set<Object> copied = new HashSet<>();
+        mongoTemplate.find(existing, Document.class, ScreenTimeSnapshot.COLLECTION)
+            .forEach(doc -> copied.add(doc.get("_id")));
+        if (!copied.isEmpty()) {
+            log.info("중단된 배치 감지 - 이미 복사된 문서 {}건 건너뜀", copied.size());
+        }
+        return copied;
+    }
+
+    private Document toTimeSeries(Document legacy) {
+        return new Document("_id", legacy.get("_id"))
+            .append("meta", new Document("group_id", legacy.get("group_id"))
+                .append("user_id", legacy.get("user_id")))
+            .append("date", legacy.get("date"))
+            .append("recorded_at", legacy.get("recorded_at"))
+            .append("screen_time_minutes", legacy.get("screen_time_minutes"))
+            .append("youtube_minutes", legacy.get("youtube_minutes"))
+            .append("_class", ScreenTimeSnapshot.class.getName());
+    }
+
+    private ObjectId loadCheckpoint() {
+        Document checkpoint = mongoTemplate.findById(CHECKPOINT_ID, Document.class, CHECKPOINT_COLLECTION);
+        return checkpoint != null ? checkpoint.getObjectId("last_id") : null;
+    }
+
+    private void saveCheckpoint(ObjectId lastId, int batchCount) {
+        mongoTemplate.upsert(
+            Query.query(Criteria.where("_id").is(CHECKPOINT_ID)),
+            new Update()
+                .set("last_id", lastId)
+                .inc("copied", batchCount)
+                .currentDate("updated_at"),
+            CHECKPOINT_COLLECTION
+        );
+    }
+}
@@ -0,0 +1,140 @@
+package com.ssafy.Dito.domain.screentime.repository;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeSnapshot;
+import com.ssafy.Dito.domain.screentime.job.ScreenTimeSnapshotMigrationJob;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * 날짜 조건 (정수 epoch-day 필드 d, 마이그레이션 중 이중 조회)
+ *
+ * - 일별 사용량: 백필(ScreenTimeEpochDayMigrationJob) 완료 전에는 d 가 없는 문서를 기존 date 문자열로 조회
+ *   완료 후에는 d 정수 범위만 조회 (user_day_idx)
+ * - Snapshot: 기존 문서는 갱신하지 않음 (time-series), d 를 쓰기 시작한 시각 + 보관 기간이 지나면 d 만 조회
+ * - 상태는 migration_checkpoints 에 기록 (Snapshot 전환 시각은 인스턴스 공통, 일별 사용량 완료는 재기동 시 반영)
+ */
+@Slf4j
+@Component
+public class EpochDayCriteria {
+
+    public static final String FIELD = "d";
+    public static final String USAGE_CHECKPOINT_ID = "screen_time_daily_usage_epoch_day";
+
+    private static final String SNAPSHOT_CHECKPOINT_ID = "screen_time_snapshots_epoch_day";
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration snapshotRetention;
+    private volatile boolean usageMigrated;
+    private volatile Instant snapshotCutover = Instant.MAX;
+
+    public EpochDayCriteria(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        // 컬렉션 expireAfter 와 같은 값이어야 d 가 없는 문서가 모두 만료된 뒤 전환됨
+        this.snapshotRetention = Duration.ofDays(ScreenTimeSnapshot.RETENTION_DAYS);
+    }
+
+    @PostConstruct
+    void load() {
+        Document usage = mongoTemplate.findById(USAGE_CHECKPOINT_ID, Document.class, ScreenTimeSnapshotMigrationJob.CHECKPOINT_COLLECTION);
+        usageMigrated = usage != null && Boolean.TRUE.equals(usage.getBoolean("completed"));
+
+        // 최초 기동 시각을 d 쓰기 시작 시각으로 기록 (이미 있으면 유지)
+        mongoTemplate.upsert(
+            Query.query(Criteria.where("_id").is(SNAPSHOT_CHECKPOINT_ID)),
+            new Update().setOnInsert("writing_since", new Date()),
+            ScreenTimeSnapshotMigrationJob.CHECKPOINT_COLLECTION
+        );
+        Document snapshot = mongoTemplate.findById(SNAPSHOT_CHECKPOINT_ID, Document.class, ScreenTimeSnapshotMigrationJob.CHECKPOINT_COLLECTION);
+        snapshotCutover = snapshot.getDate("writing_since").toInstant().plus(snapshotRetention);
+
+        log.info("epoch-day 조회 상태 - usageMigrated: {}, snapshotCutover: {}", usageMigrated, snapshotCutover);
+    }
+
+    public static int day(LocalDate date) {
+        return (int) date.toEpochDay();
+    }
+
+    /**
+     * 일별 사용량 백필 완료 여부 (완료 후에는 d 가 고유 키)
+     */
+    public boolean isUsageMigrated() {
+        return usageMigrated;
+    }
+
+    /**
+     * 일별 사용량 날짜순 정렬 (백필 완료 후 새 문서에는 date 가 없으므로 d 기준)
+     */
+    public Sort usageSort() {
+        return Sort.by(Sort.Direction.ASC, usageMigrated ? FIELD : "date");
+    }
+
+    /**
+     * 일별 사용량 날짜 목록 조건 (백필 완료 전에는 d 가 없는 문서와 맞추기 위해 date 문자열)
+     */
+    public Criteria usageDayIn(Collection<LocalDate> dates) {
+        if (usageMigrated) {
+            return Criteria.where(FIELD).in(dates.stream().map(EpochDayCriteria::day).toList());
+        }
+        return Criteria.where("date").in(dates.stream().map(LocalDate::toString).toList());
+    }
+
+    /**
+     * 일별 사용량 기간 조건
+     */
+    public Criteria usageDays(LocalDate startDate, LocalDate endDate) {
+        Criteria days = Criteria.where(FIELD).gte(day(startDate)).lte(day(endDate));
+        if (usageMigrated) {
+            return days;
+        }
+        return new Criteria().orOperator(days, Criteria.where(FIELD).exists(false)
+            .and("date").gte(startDate.toString()).lte(endDate.toString()));
+    }
+
+    /**
+     * Snapshot 날짜 조건
+     */
+    public Criteria snapshotDay(LocalDate date) {
+        return snapshotDays(date, date);
+    }
+
+    /**
+     * Snapshot 기간 조건 (기존 문서의 date 는 LocalDate → BSON Date)
+     */
+    public Criteria snapshotDays(LocalDate startDate, LocalDate endDate) {
+        Criteria days = Criteria.where(FIELD).gte(day(startDate)).lte(day(endDate));
+        if (snapshotsMigrated()) {
+            return days;
+        }
+        return new Criteria().orOperator(days, Criteria.where(FIELD).exists(false)
+            .and("date").gte(startDate).lte(endDate));
+    }
+
+    public boolean snapshotsMigrated() {
+        return Instant.now().isAfter(snapshotCutover);
+    }
+
+    /**
+     * 일별 사용량 백필 완료 (이 인스턴스는 즉시 전환, 다른 인스턴스는 재기동 시 전환)
+     */
+    public void markUsageMigrated() {
+        mongoTemplate.upsert(
+            Query.query(Criteria.where("_id").is(USAGE_CHECKPOINT_ID)),
+            new Update().set("completed", true).currentDate("updated_at"),
+            ScreenTimeSnapshotMigrationJob.CHECKPOINT_COLLECTION
+        );
+        usageMigrated = true;
+    }
+}
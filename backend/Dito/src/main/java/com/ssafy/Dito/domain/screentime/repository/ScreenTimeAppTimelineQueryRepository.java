@@ -0,0 +1,97 @@
+package com.ssafy.Dito.domain.screentime.repository;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeAppTimeline;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * ScreenTimeAppTimeline 커스텀 쿼리 (MongoTemplate)
+ * - 닫힌 구간을 (사용자, 날짜) 문서에 $addToSet 으로 추가 (단일 unordered bulkWrite)
+ *   인코딩된 구간은 (앱, 시작 초, 길이) 라 같은 구간을 다시 보내도 중복되지 않음 → 재시도 안전
+ * - 문서 생성 시 expire_at = 날짜 + retention-days (TTL 인덱스로 자동 삭제)
+ * - 기간 조회는 user_day_unique_idx 범위 스캔
+ */
+@Repository
+public class ScreenTimeAppTimelineQueryRepository {
+
+    private final MongoTemplate mongoTemplate;
+    private final int retentionDays;
+
+    public ScreenTimeAppTimelineQueryRepository(
+        MongoTemplate mongoTemplate,
+        @Value("${screentime.app-timeline.retention-days:30}") int retentionDays
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * 날짜별 구간 일괄 추가 (문서가 없으면 생성)
+     * unordered bulk 라 일부만 실패할 수 있음 → 실패한 항목만 반환 (이미 반영된 항목을 다시 보내도 중복되지 않음)
+     *
+     * @return 저장에 실패한 항목
+     */
+    public List<DaySegments> appendSegments(Collection<DaySegments> entries) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, ScreenTimeAppTimeline.class);
+        List<DaySegments> operations = new ArrayList<>();
+        for (DaySegments entry : entries) {
+            if (entry.segments().isEmpty()) {
+                continue;
+            }
+            bulkOps.upsert(
+                Query.query(Criteria.where("user_id").is(entry.userId())
+                    .and(EpochDayCriteria.FIELD).is(EpochDayCriteria.day(entry.date()))),
+                new Update()
+                    .addToSet("segments").each(entry.segments().toArray())
+                    .setOnInsert("expire_at", expireAt(entry.date()))
+            );
+            operations.add(entry);
+        }
+        if (operations.isEmpty()) {
+            return List.of();
+        }
+        try {
+            bulkOps.execute();
+            return List.of();
+        } catch (BulkOperationException e) {
+            return e.getErrors().stream()
+                .map(error -> operations.get(error.getIndex()))
+                .toList();
+        }
+    }
+
+    /**
+     * 특정 사용자의 기간 타임라인 조회 (날짜순)
+     */
+    public List<ScreenTimeAppTimeline> findByUserIdAndDays(Long userId, LocalDate startDate, LocalDate endDate) {
+        Query query = Query.query(Criteria.where("user_id").is(userId)
+                .and(EpochDayCriteria.FIELD).gte(EpochDayCriteria.day(startDate)).lte(EpochDayCriteria.day(endDate)))
+            .with(Sort.by(Sort.Direction.ASC, EpochDayCriteria.FIELD));
+        return mongoTemplate.find(query, ScreenTimeAppTimeline.class);
+    }
+
+    private Date expireAt(LocalDate date) {
+        return Date.from(date.plusDays(retentionDays).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * (사용자, 날짜) 에 추가할 인코딩된 구간
+     */
+    public record DaySegments(Long userId, LocalDate date, List<Long> segments) {
+    }
+}
@@ -0,0 +1,246 @@
+package com.ssafy.Dito.domain.screentime.repository;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeChallengeTotal;
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeDailyUsage;
+import com.mongodb.bulk.BulkWriteResult;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ScreenTimeChallengeTotal 커스텀 쿼리 (MongoTemplate)
+ * - 일별 사용량 변화분을 챌린지 기간에 해당하는 모든 그룹 누적값에 $inc (updateMulti 1회)
+ * - 원본(screen_time_daily_usage) 기준 그룹 단위 재계산 ($inc 마다 올라가는 version 으로 동시 갱신 감지)
+ */
+@Repository
+@RequiredArgsConstructor
+public class ScreenTimeChallengeTotalQueryRepository {
+
+    private static final int REBUILD_ATTEMPTS = 3;
+    // 일별 사용량 upsert 와 누적값 $inc 사이 간격보다 넉넉하게
+    private static final Duration REBUILD_SETTLE = Duration.ofSeconds(5);
+
+    private final MongoTemplate mongoTemplate;
+    private final EpochDayCriteria epochDayCriteria;
+
+    /**
+     * 여러 그룹의 누적값을 한 번에 조회 (대시보드용, group_id $in)
+     * 순서는 보장하지 않음 - 랭킹 정렬은 ScreenTimeService 에서 참여자 기준으로 한 번만 수행
+     *
+     * @return 누적값이 있는 그룹만 담은 Map
+     */
+    public Map<Long, List<ScreenTimeChallengeTotal>> findByGroupIds(Collection<Long> groupIds) {
+        Map<Long, List<ScreenTimeChallengeTotal>> result = new HashMap<>();
+        if (groupIds.isEmpty()) {
+            return result;
+        }
+        for (ScreenTimeChallengeTotal total : mongoTemplate.find(
+                Query.query(Criteria.where("group_id").in(groupIds)), ScreenTimeChallengeTotal.class)) {
+            result.computeIfAbsent(total.getGroupId(), id -> new ArrayList<>()).add(total);
+        }
+        return result;
+    }
+
+    public List<ScreenTimeChallengeTotal> findByGroupId(Long groupId) {
+        return mongoTemplate.find(
+            Query.query(Criteria.where("group_id").is(groupId)),
+            ScreenTimeChallengeTotal.class
+        );
+    }
+
+    /**
+     * 일별 사용량 변화분 반영
+     * date 가 챌린지 기간에 포함되는 사용자의 모든 그룹 누적값에 더함
+     */
+    public void applyDelta(Long userId, LocalDate date, int totalDelta, int youtubeDelta) {
+        if (totalDelta == 0 && youtubeDelta == 0) {
+            return;
+        }
+        mongoTemplate.updateMulti(windowKey(userId, date), deltaUpdate(totalDelta, youtubeDelta), ScreenTimeChallengeTotal.class);
+    }
+
+    /**
+     * 여러 날짜 변화분 일괄 반영 (오프라인 백로그 동기화용, 단일 unordered bulkWrite)
+     */
+    public void bulkApplyDeltas(Long userId, Collection<UsageDelta> deltas) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, ScreenTimeChallengeTotal.class);
+        int count = 0;
+        for (UsageDelta delta : deltas) {
+            if (delta.totalMinutes() == 0 && delta.youtubeMinutes() == 0) {
+                continue;
+            }
+            bulkOps.updateMulti(windowKey(userId, delta.date()), deltaUpdate(delta.totalMinutes(), delta.youtubeMinutes()));
+            count++;
+        }
+        if (count > 0) {
+            bulkOps.execute();
+        }
+    }
+
+    /**
+     * 그룹 누적값 재계산 (원본 일별 사용량 기준)
+     * - 참여자 × 챌린지 기간 합계를 서버 측 $group 으로 계산 후 참여자별 갱신
+     * - 사용량이 없는 참여자도 0 으로 생성, 더 이상 참여하지 않는 사용자 문서는 제거
+     * - 합계 계산과 저장 사이에 들어온 $inc 를 덮어쓰지 않도록 읽어 둔 version 이 같을 때만 $set
+     * - 저장 후에도 기간 내 사용량이 최근에 바뀌었으면 (합계에 이미 포함된 변화분의 $inc 가 뒤늦게 올 수 있음)
+     *   안정될 때까지 REBUILD_ATTEMPTS 회까지 다시 계산
+     *
+     * @return 안정된 값으로 저장했는지 (false 면 다음 재계산에서 다시 시도)
+     */
+    public boolean rebuild(Long groupId, LocalDate startDate, LocalDate endDate, Collection<Long> userIds) {
+        for (int attempt = 1; attempt <= REBUILD_ATTEMPTS; attempt++) {
+            Date startedAt = Date.from(Instant.now().minus(REBUILD_SETTLE));
+            if (rebuildOnce(groupId, startDate, endDate, userIds)
+                && !usageChangedSince(startDate, endDate, userIds, startedAt)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return 모든 참여자 문서가 version 조건을 통과해 저장되었는지
+     */
+    private boolean rebuildOnce(Long groupId, LocalDate startDate, LocalDate endDate, Collection<Long> userIds) {
+        Map<Long, Long> versions = new HashMap<>();
+        for (ScreenTimeChallengeTotal total : findByGroupId(groupId)) {
+            versions.put(total.getUserId(), total.getVersion());
+        }
+        Map<Long, Document> sums = sumByUser(startDate, endDate, userIds);
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, ScreenTimeChallengeTotal.class);
+        for (Long userId : userIds) {
+            Document sum = sums.get(userId);
+            Update update = new Update()
+                .set("start_date", startDate.toString())
+                .set("end_date", endDate.toString())
+                .set("total_minutes", sum != null ? ((Number) sum.get("total_minutes")).intValue() : 0)
+                .set("youtube_minutes", sum != null ? ((Number) sum.get("youtube_minutes")).intValue() : 0)
+                .set("last_updated_at", now)
+                .inc("version", 1);
+            Query key = Query.query(Criteria.where("group_id").is(groupId).and("user_id").is(userId)
+                .and("version").is(versions.get(userId)));
+            if (versions.containsKey(userId)) {
+                bulkOps.updateOne(key, update);
+            } else {
+                // 그 사이 다른 재계산이 생성했으면 unique 인덱스 충돌 → 다시 계산
+                bulkOps.upsert(key, update);
+            }
+        }
+        bulkOps.remove(Query.query(Criteria.where("group_id").is(groupId).and("user_id").nin(userIds)));
+        try {
+            BulkWriteResult result = bulkOps.execute();
+            return result.getMatchedCount() + result.getUpserts().size() == userIds.size();
+        } catch (BulkOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 참여자의 기간 내 일별 사용량 중 since 이후 값이 바뀐 문서가 있는지
+     */
+    private boolean usageChangedSince(LocalDate startDate, LocalDate endDate, Collection<Long> userIds, Date since) {
+        return mongoTemplate.exists(
+            Query.query(Criteria.where("user_id").in(userIds)
+                .and("last_updated_at").gte(since)
+                .andOperator(epochDayCriteria.usageDays(startDate, endDate))),
+            ScreenTimeDailyUsage.class
+        );
+    }
+
+    /**
+     * 원본 일별 사용량 기준 누적값 계산 (저장하지 않음, 조회 전용 경로용)
+     * - 사용량이 없는 참여자도 0 으로 포함
+     */
+    public List<ScreenTimeChallengeTotal> computeTotals(Long groupId, LocalDate startDate, LocalDate endDate,
+        Collection<Long> userIds) {
+        Map<Long, Document> sums = sumByUser(startDate, endDate, userIds);
+        return userIds.stream()
+            .map(userId -> {
+                Document sum = sums.get(userId);
+                return ScreenTimeChallengeTotal.of(groupId, userId, startDate, endDate,
+                    sum != null ? ((Number) sum.get("total_minutes")).intValue() : 0,
+                    sum != null ? ((Number) sum.get("youtube_minutes")).intValue() : 0);
+            })
+            .toList();
+    }
+
+    /**
+     * 참여자 × 기간 합계 (서버 측 $group)
+     */
+    private Map<Long, Document> sumByUser(LocalDate startDate, LocalDate endDate, Collection<Long> userIds) {
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("user_id").in(userIds)
+                .andOperator(epochDayCriteria.usageDays(startDate, endDate))),
+            Aggregation.group("user_id")
+                .sum("total_minutes").as("total_minutes")
+                .sum("youtube_minutes").as("youtube_minutes")
+        );
+        Map<Long, Document> sums = new HashMap<>();
+        for (Document sum : mongoTemplate.aggregate(aggregation,
+                mongoTemplate.getCollectionName(ScreenTimeDailyUsage.class), Document.class)) {
+            sums.put(((Number) sum.get("_id")).longValue(), sum);
+        }
+        return sums;
+    }
+
+    /**
+     * 누적값이 있는 그룹 ID 목록 (endDate 가 since 이후인 그룹만)
+     */
+    public List<Long> findGroupIdsEndingAfter(LocalDate since) {
+        return mongoTemplate.findDistinct(
+            Query.query(Criteria.where("end_date").gte(since.toString())),
+            "group_id",
+            ScreenTimeChallengeTotal.class,
+            Long.class
+        );
+    }
+
+    public void deleteByGroupId(Long groupId) {
+        mongoTemplate.remove(Query.query(Criteria.where("group_id").is(groupId)), ScreenTimeChallengeTotal.class);
+    }
+
+    /**
+     * 챌린지 기간 비교는 start_date / end_date 문자열 그대로 (user_window_idx, epoch-day 전환 대상 아님)
+     */
+    private Query windowKey(Long userId, LocalDate date) {
+        String day = date.toString();
+        return Query.query(Criteria.where("user_id").is(userId)
+            .and("start_date").lte(day)
+            .and("end_date").gte(day));
+    }
+
+    private Update deltaUpdate(int totalDelta, int youtubeDelta) {
+        return new Update()
+            .inc("total_minutes", totalDelta)
+            .inc("youtube_minutes", youtubeDelta)
+            .inc("version", 1)
+            .set("last_updated_at", LocalDateTime.now());
+    }
+
+    /**
+     * 날짜별 일별 사용량 변화분
+     */
+    public record UsageDelta(LocalDate date, int totalMinutes, int youtubeMinutes) {
+    }
+}
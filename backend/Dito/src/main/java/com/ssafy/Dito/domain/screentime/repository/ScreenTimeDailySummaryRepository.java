@@ -12,7 +12,10 @@ import java.util.Optional;
 /**
  * MongoDB repository for daily screen time summary
  * 그룹 챌린지 랭킹 조회 최적화를 위한 일별 스크린타임 집계 데이터 관리
+ *
+ * @deprecated 사용자 단위 {@link ScreenTimeDailyUsageRepository} 로 대체 (백필 및 그룹 삭제 정리용으로만 유지)
  */
+@Deprecated
 @Repository
 public interface ScreenTimeDailySummaryRepository extends MongoRepository<ScreenTimeDailySummary, String> {
 
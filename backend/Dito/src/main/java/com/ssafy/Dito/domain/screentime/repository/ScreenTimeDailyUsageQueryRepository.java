@@ -0,0 +1,150 @@
+package com.ssafy.Dito.domain.screentime.repository;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeDailyUsage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AccumulatorOperators;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.BooleanOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.LiteralOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * ScreenTimeDailyUsage 커스텀 쓰기 쿼리 (MongoTemplate)
+ * - 조회 후 저장(find + save) 대신 단일 findAndModify로 원자적 upsert
+ * - 오프라인 백로그도 날짜별 findAndModify (갱신 직전 값으로 챌린지 누적값 변화분 계산)
+ * - upsert 마다 정수 epoch-day(d) 저장 (date 문자열은 백필 완료 전까지만), 기간 조회는 EpochDayCriteria 조건 사용
+ * - upsert 키는 epoch-day 백필 완료 후 (user_id, d), 백필 중에는 d 가 없는 기존 문서와 맞추기 위해 (user_id, date)
+ */
+@Repository
+@RequiredArgsConstructor
+public class ScreenTimeDailyUsageQueryRepository {
+
+    private final MongoTemplate mongoTemplate;
+    private final EpochDayCriteria epochDayCriteria;
+
+    /**
+     * 사용자 일별 사용량 원자적 upsert ($max 시맨틱)
+     * - total_minutes / youtube_minutes 는 기존 값보다 클 때만 갱신 (늦게 도착한 업로드가 값을 낮추지 않음)
+     * - 값이 바뀔 때만 last_updated_at 갱신 → 변경 없는 요청은 문서가 그대로라 디스크 쓰기 없음
+     * - 문서가 없으면 query의 등치 조건(user_id, d 또는 date)으로 신규 생성
+     *
+     * @return 갱신 이전 사용량 (신규 생성이면 null)
+     */
+    public ScreenTimeDailyUsage upsertMax(Long userId, LocalDate date, int totalMinutes, int youtubeMinutes) {
+        Query query = usageKey(userId, date);
+        AggregationUpdate update = maxUpdate(date, totalMinutes, youtubeMinutes, now());
+
+        return mongoTemplate.findAndModify(
+            query,
+            update,
+            FindAndModifyOptions.options().upsert(true).returnNew(false),
+            ScreenTimeDailyUsage.class
+        );
+    }
+
+    /**
+     * 특정 사용자의 여러 날짜 사용량 일괄 조회
+     * 일괄 갱신 시 항목별 처리 상태 계산용
+     */
+    public List<ScreenTimeDailyUsage> findByUserIdAndDates(Long userId, Collection<LocalDate> dates) {
+        return mongoTemplate.find(
+            Query.query(Criteria.where("user_id").is(userId).andOperator(epochDayCriteria.usageDayIn(dates))),
+            ScreenTimeDailyUsage.class
+        );
+    }
+
+    /**
+     * 특정 사용자의 특정 기간 일별 사용량 조회 (날짜순)
+     * 개인별 스크린타임 추이 분석용
+     */
+    public List<ScreenTimeDailyUsage> findByUserIdAndDays(Long userId, LocalDate startDate, LocalDate endDate) {
+        Query query = Query.query(Criteria.where("user_id").is(userId)
+                .andOperator(epochDayCriteria.usageDays(startDate, endDate)))
+            .with(epochDayCriteria.usageSort());
+        return mongoTemplate.find(query, ScreenTimeDailyUsage.class);
+    }
+
+    /**
+     * 특정 시각 이후 값이 바뀐 일별 사용량 조회 (동기화 워터마크용, 날짜순)
+     * - last_updated_at 은 값이 커질 때만 서버 시각으로 갱신 → 서버 측 변경 시각
+     * - user_day_unique_idx 로 기간만 읽고 last_updated_at 은 필터로 처리 (사용자당 기간 내 문서 수만큼)
+     *
+     * @param since null 이면 기간 내 전체
+     */
+    public List<ScreenTimeDailyUsage> findChangedSince(Long userId, LocalDate startDate, LocalDate endDate,
+        LocalDateTime since) {
+        Criteria criteria = Criteria.where("user_id").is(userId);
+        if (since != null) {
+            criteria = criteria.and("last_updated_at").gte(since);
+        }
+        Query query = Query.query(criteria.andOperator(epochDayCriteria.usageDays(startDate, endDate)))
+            .with(epochDayCriteria.usageSort());
+        query.fields().include("date", EpochDayCriteria.FIELD, "total_minutes", "youtube_minutes");
+        return mongoTemplate.find(query, ScreenTimeDailyUsage.class);
+    }
+
+    /**
+     * 사용자 ID 구간 × 기간의 일별 사용량 조회 (정합성 검사용)
+     *
+     * @param fromUserId 시작 사용자 ID (포함)
+     * @param toUserId 끝 사용자 ID (포함)
+     */
+    public List<ScreenTimeDailyUsage> findByUserIdRangeAndDays(long fromUserId, long toUserId,
+        LocalDate startDate, LocalDate endDate) {
+        Query query = Query.query(Criteria.where("user_id").gte(fromUserId).lte(toUserId)
+            .andOperator(epochDayCriteria.usageDays(startDate, endDate)));
+        query.fields().include("user_id", "date", EpochDayCriteria.FIELD, "total_minutes", "youtube_minutes");
+        return mongoTemplate.find(query, ScreenTimeDailyUsage.class);
+    }
+
+    private Query usageKey(Long userId, LocalDate date) {
+        if (epochDayCriteria.isUsageMigrated()) {
+            return Query.query(Criteria.where("user_id").is(userId)
+                .and(EpochDayCriteria.FIELD).is(EpochDayCriteria.day(date)));
+        }
+        return Query.query(Criteria.where("user_id").is(userId)
+            .and("date").is(date.toString()));
+    }
+
+    /**
+     * 파이프라인 update: last_updated_at 을 먼저 계산해야 "갱신 전" 값과 비교됨
+     * date 문자열은 백필 완료 전(기존 문서와 같은 키로 조회)에만 저장 → 완료 후 새 문서는 d 만 가짐
+     */
+    private AggregationUpdate maxUpdate(LocalDate date, int totalMinutes, int youtubeMinutes, Date now) {
+        AggregationUpdate update = AggregationUpdate.update()
+            .set(EpochDayCriteria.FIELD).toValue(EpochDayCriteria.day(date));
+        if (!epochDayCriteria.isUsageMigrated()) {
+            update = update.set("date").toValue(date.toString());
+        }
+        return update
+            .set("last_updated_at").toValue(
+                ConditionalOperators.when(BooleanOperators.Or.or(
+                        ComparisonOperators.valueOf("total_minutes").lessThanValue(totalMinutes),
+                        ComparisonOperators.valueOf("youtube_minutes").lessThanValue(youtubeMinutes)))
+                    .then(now)
+                    .otherwiseValueOf("last_updated_at"))
+            .set("total_minutes").toValue(
+                AccumulatorOperators.Max.maxOf("total_minutes")
+                    .and(LiteralOperators.Literal.asLiteral(totalMinutes)))
+            .set("youtube_minutes").toValue(
+                AccumulatorOperators.Max.maxOf("youtube_minutes")
+                    .and(LiteralOperators.Literal.asLiteral(youtubeMinutes)));
+    }
+
+    private Date now() {
+        return Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
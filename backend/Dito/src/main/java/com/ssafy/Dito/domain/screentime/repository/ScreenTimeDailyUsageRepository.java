@@ -0,0 +1,14 @@
+package com.ssafy.Dito.domain.screentime.repository;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeDailyUsage;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * MongoDB repository for user-scoped daily screen time
+ * 그룹 랭킹은 참여자 ID 목록으로 조회해 파생
+ * 날짜 / 기간 조회는 ScreenTimeDailyUsageQueryRepository (epoch-day 조건)
+ */
+@Repository
+public interface ScreenTimeDailyUsageRepository extends MongoRepository<ScreenTimeDailyUsage, String> {
+}
@@ -0,0 +1,109 @@
+package com.ssafy.Dito.domain.screentime.repository;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeHourlyUsage;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ScreenTimeHourlyUsage 커스텀 쿼리 (MongoTemplate)
+ * - 업로드 시 시간대별 증가분 $inc (bulkWrite 1회)
+ * - 재계산 시 날짜 단위 24 셀 덮어쓰기
+ * - 히트맵은 서버 측 $group (요일, 시간대) → 최대 168 행
+ * - 날짜 키는 date 문자열 그대로 (epoch-day 전환 대상 아님: 셀 문서 키가 바뀌어 기존 문서 재작성 필요)
+ */
+@Repository
+@RequiredArgsConstructor
+public class ScreenTimeHourlyUsageQueryRepository {
+
+    private static final int HOURS = 24;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * 시간대별 증가분 반영 (0 인 시간대는 건너뜀)
+     */
+    public void incrementDay(Long userId, LocalDate date, int[] totalMinutes, int[] youtubeMinutes) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, ScreenTimeHourlyUsage.class);
+        int count = 0;
+        for (int hour = 0; hour < HOURS; hour++) {
+            if (totalMinutes[hour] == 0 && youtubeMinutes[hour] == 0) {
+                continue;
+            }
+            bulkOps.upsert(cellKey(userId, date, hour), new Update()
+                .setOnInsert("day_of_week", date.getDayOfWeek().getValue())
+                .inc("total_minutes", totalMinutes[hour])
+                .inc("youtube_minutes", youtubeMinutes[hour]));
+            count++;
+        }
+        if (count > 0) {
+            bulkOps.execute();
+        }
+    }
+
+    /**
+     * 날짜 하나의 24 셀 덮어쓰기 (Snapshot 기반 재계산용, 여러 번 실행해도 결과 동일)
+     */
+    public void replaceDay(Long userId, LocalDate date, int[] totalMinutes, int[] youtubeMinutes) {
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, ScreenTimeHourlyUsage.class);
+        for (int hour = 0; hour < HOURS; hour++) {
+            bulkOps.upsert(cellKey(userId, date, hour), new Update()
+                .set("day_of_week", date.getDayOfWeek().getValue())
+                .set("total_minutes", totalMinutes[hour])
+                .set("youtube_minutes", youtubeMinutes[hour]));
+        }
+        bulkOps.execute();
+    }
+
+    /**
+     * 사용자들의 기간 내 요일 × 시간대 합계
+     */
+    public List<HourCell> sumByDayOfWeekAndHour(Collection<Long> userIds, LocalDate startDate, LocalDate endDate) {
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("user_id").in(userIds)
+                .and("date").gte(startDate.toString()).lte(endDate.toString())),
+            Aggregation.group("day_of_week", "hour")
+                .sum("total_minutes").as("total_minutes")
+                .sum("youtube_minutes").as("youtube_minutes"),
+            Aggregation.sort(Sort.by(Sort.Direction.ASC, "day_of_week", "hour"))
+        );
+
+        List<HourCell> cells = new ArrayList<>();
+        for (Document row : mongoTemplate.aggregate(aggregation,
+                mongoTemplate.getCollectionName(ScreenTimeHourlyUsage.class), Document.class)) {
+            Document id = row.get("_id", Document.class);
+            cells.add(new HourCell(
+                ((Number) id.get("day_of_week")).intValue(),
+                ((Number) id.get("hour")).intValue(),
+                ((Number) row.get("total_minutes")).intValue(),
+                ((Number) row.get("youtube_minutes")).intValue()
+            ));
+        }
+        return cells;
+    }
+
+    private Query cellKey(Long userId, LocalDate date, int hour) {
+        return Query.query(Criteria.where("user_id").is(userId)
+            .and("date").is(date.toString())
+            .and("hour").is(hour));
+    }
+
+    /**
+     * 요일(1=월 ~ 7=일) × 시간대 합계
+     */
+    public record HourCell(int dayOfWeek, int hour, int totalMinutes, int youtubeMinutes) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.ssafy.Dito.domain.screentime.repository;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeIngestRequest;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * MongoDB repository for screen time ingest idempotency keys
+ * insert() 는 _id 중복 시 DuplicateKeyException 발생 → 재시도 요청 판별에 사용
+ */
+@Repository
+public interface ScreenTimeIngestRequestRepository extends MongoRepository<ScreenTimeIngestRequest, String> {
+}
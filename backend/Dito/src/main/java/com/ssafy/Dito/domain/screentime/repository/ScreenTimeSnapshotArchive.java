@@ -0,0 +1,249 @@
+package com.ssafy.Dito.domain.screentime.repository;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeSnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * 만료 전 Snapshot 장기 보관소 (로컬 디스크, 날짜별 세그먼트 파일)
+ * - 하루치 Snapshot 을 사용자별 열 단위 + 차분 인코딩 + deflate 압축으로 저장 (SnapshotSegmentFormat)
+ * - 사용자 인덱스로 특정 사용자 블록만 읽음
+ * - 임시 파일에 쓴 뒤 이름 변경 → 중간에 실패해도 불완전한 세그먼트가 남지 않음
+ */
+@Slf4j
+@Repository
+public class ScreenTimeSnapshotArchive {
+
+    private static final String SUFFIX = ".seg";
+
+    private final Path directory;
+
+    public ScreenTimeSnapshotArchive(
+        @Value("${screentime.snapshot-archive.dir:archive/screen-time-snapshots}") String directory
+    ) {
+        this.directory = Paths.get(directory);
+    }
+
+    public boolean isArchived(LocalDate date) {
+        return Files.exists(segmentPath(date));
+    }
+
+    /**
+     * 아카이브된 날짜 목록 (오름차순)
+     */
+    public List<LocalDate> archivedDates() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                .filter(name -> name.endsWith(SUFFIX))
+                .map(name -> parseDate(name.substring(0, name.length() - SUFFIX.length())))
+                .filter(Objects::nonNull)
+                .sorted()
+                .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 하루치 세그먼트 저장 (기존 파일은 교체)
+     *
+     * @param snapshots meta.user_id, recorded_at 오름차순으로 정렬된 해당 날짜 Snapshot
+     * @return 저장한 행 수
+     */
+    public int write(LocalDate date, Iterator<ScreenTimeSnapshot> snapshots) {
+        Path target = segmentPath(date);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Map<Long, IndexEntry> index = new LinkedHashMap<>();
+        int rows = 0;
+
+        try {
+            Files.createDirectories(directory);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(SnapshotSegmentFormat.MAGIC);
+                out.writeByte(SnapshotSegmentFormat.VERSION);
+                out.writeLong(date.toEpochDay());
+                long offset = SnapshotSegmentFormat.HEADER_SIZE;
+
+                Long userId = null;
+                List<ScreenTimeSnapshot> block = new ArrayList<>();
+                while (snapshots.hasNext()) {
+                    ScreenTimeSnapshot snapshot = snapshots.next();
+                    if (snapshot.getUserId() == null || snapshot.getRecordedAt() == null) {
+                        continue;
+                    }
+                    if (userId != null && !userId.equals(snapshot.getUserId())) {
+                        offset += writeBlock(out, date, userId, block, offset, index);
+                        block.clear();
+                    }
+                    userId = snapshot.getUserId();
+                    block.add(snapshot);
+                    rows++;
+                }
+                if (!block.isEmpty()) {
+                    offset += writeBlock(out, date, userId, block, offset, index);
+                }
+
+                out.writeInt(index.size());
+                for (Map.Entry<Long, IndexEntry> entry : index.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    out.writeLong(entry.getValue().offset());
+                    out.writeInt(entry.getValue().length());
+                    out.writeInt(entry.getValue().rowCount());
+                }
+                out.writeLong(offset);
+                out.writeInt(SnapshotSegmentFormat.MAGIC);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // 다음 실행에서 덮어씀
+            }
+            throw new UncheckedIOException(e);
+        }
+
+        log.info("Snapshot 아카이브 저장 - date: {}, users: {}, rows: {}", date, index.size(), rows);
+        return rows;
+    }
+
+    /**
+     * 하루치 전체 조회 (사용자 → recorded_at 순)
+     */
+    public List<ArchivedSnapshot> read(LocalDate date) {
+        Path path = segmentPath(date);
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            List<ArchivedSnapshot> rows = new ArrayList<>();
+            for (Map.Entry<Long, IndexEntry> entry : readIndex(file, date).entrySet()) {
+                rows.addAll(readBlock(file, date, entry.getKey(), entry.getValue()));
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 특정 사용자의 하루치 조회 (해당 블록만 읽음)
+     */
+    public List<ArchivedSnapshot> readUser(LocalDate date, Long userId) {
+        Path path = segmentPath(date);
+        if (!Files.exists(path)) {
+            return List.of();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            IndexEntry entry = readIndex(file, date).get(userId);
+            return entry != null ? readBlock(file, date, userId, entry) : List.of();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 특정 사용자의 기간 조회 (아카이브된 날짜만)
+     */
+    public List<ArchivedSnapshot> readUser(Long userId, LocalDate startDate, LocalDate endDate) {
+        List<ArchivedSnapshot> rows = new ArrayList<>();
+        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+            rows.addAll(readUser(date, userId));
+        }
+        return rows;
+    }
+
+    private int writeBlock(DataOutputStream out, LocalDate date, Long userId,
+        List<ScreenTimeSnapshot> block, long offset, Map<Long, IndexEntry> index) throws IOException {
+        byte[] encoded = SnapshotSegmentFormat.encodeBlock(date, block);
+        out.write(encoded);
+        index.put(userId, new IndexEntry(offset, encoded.length, block.size()));
+        return encoded.length;
+    }
+
+    private Map<Long, IndexEntry> readIndex(RandomAccessFile file, LocalDate date) throws IOException {
+        if (file.length() < SnapshotSegmentFormat.HEADER_SIZE + SnapshotSegmentFormat.FOOTER_SIZE) {
+            throw new IOException("세그먼트 파일이 너무 짧습니다 - date: " + date);
+        }
+        file.seek(0);
+        if (file.readInt() != SnapshotSegmentFormat.MAGIC
+            || file.readByte() != SnapshotSegmentFormat.VERSION
+            || file.readLong() != date.toEpochDay()) {
+            throw new IOException("세그먼트 헤더가 올바르지 않습니다 - date: " + date);
+        }
+
+        file.seek(file.length() - SnapshotSegmentFormat.FOOTER_SIZE);
+        long indexOffset = file.readLong();
+        if (file.readInt() != SnapshotSegmentFormat.MAGIC) {
+            throw new IOException("세그먼트 footer 가 올바르지 않습니다 - date: " + date);
+        }
+
+        file.seek(indexOffset);
+        int userCount = file.readInt();
+        Map<Long, IndexEntry> index = new LinkedHashMap<>(userCount * 2);
+        for (int i = 0; i < userCount; i++) {
+            index.put(file.readLong(), new IndexEntry(file.readLong(), file.readInt(), file.readInt()));
+        }
+        return index;
+    }
+
+    private List<ArchivedSnapshot> readBlock(RandomAccessFile file, LocalDate date, Long userId,
+        IndexEntry entry) throws IOException {
+        byte[] block = new byte[entry.length()];
+        file.seek(entry.offset());
+        file.readFully(block);
+        return SnapshotSegmentFormat.decodeBlock(date, userId, block);
+    }
+
+    private Path segmentPath(LocalDate date) {
+        return directory.resolve(date + SUFFIX);
+    }
+
+    private LocalDate parseDate(String value) {
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 아카이브에서 복원한 Snapshot (recorded_at 은 밀리초 단위)
+     */
+    public record ArchivedSnapshot(
+        Long groupId,
+        Long userId,
+        LocalDate date,
+        LocalDateTime recordedAt,
+        Integer screenTimeMinutes,
+        Integer youtubeMinutes
+    ) {
+    }
+
+    private record IndexEntry(long offset, int length, int rowCount) {
+    }
+}
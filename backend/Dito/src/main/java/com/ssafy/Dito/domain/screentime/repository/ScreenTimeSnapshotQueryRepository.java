@@ -0,0 +1,179 @@
+package com.ssafy.Dito.domain.screentime.repository;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ScreenTimeSnapshot 커스텀 쿼리 (MongoTemplate)
+ * - 특정 시각 기준 사용자별 누적 사용량 (랭킹 시점 조회용)
+ * - 날짜 조건은 EpochDayCriteria (d 정수, 전환 기간에는 기존 date 도 조회)
+ */
+@Repository
+@RequiredArgsConstructor
+public class ScreenTimeSnapshotQueryRepository {
+
+    private final MongoTemplate mongoTemplate;
+    private final EpochDayCriteria epochDayCriteria;
+
+    /**
+     * 특정 사용자의 특정 날짜 Snapshot 조회 (최신순)
+     * user_day_idx 사용
+     */
+    public List<ScreenTimeSnapshot> findByUserIdAndDate(Long userId, LocalDate date) {
+        Query query = Query.query(Criteria.where("meta.user_id").is(userId)
+                .andOperator(epochDayCriteria.snapshotDay(date)))
+            .with(Sort.by(Sort.Direction.DESC, "recorded_at"));
+        return mongoTemplate.find(query, ScreenTimeSnapshot.class);
+    }
+
+    /**
+     * 시각 at 까지 기록된 Snapshot 기준 사용자별 기간 합계
+     * - 날짜별로 at 이전 Snapshot 중 최대값 (일별 사용량은 큰 값만 반영하므로 그 시각의 일별 사용량과 같음)
+     * - user_day_idx 로 (사용자, 날짜) 범위만 읽고 서버 측 $group 두 번 → 사용자 수만큼만 반환
+     *
+     * @param excludedDates 다른 저장소(아카이브)에서 읽을 날짜
+     */
+    public Map<Long, UsageAsOf> sumUsageAsOf(Collection<Long> userIds, LocalDate startDate, LocalDate endDate,
+        LocalDateTime at, Collection<LocalDate> excludedDates) {
+        Map<Long, UsageAsOf> result = new HashMap<>();
+        if (userIds.isEmpty() || startDate.isAfter(endDate)) {
+            return result;
+        }
+
+        Criteria criteria = Criteria.where("meta.user_id").in(userIds)
+            .and("recorded_at").lte(at);
+        if (excludedDates.isEmpty()) {
+            criteria = criteria.andOperator(epochDayCriteria.snapshotDays(startDate, endDate));
+        } else {
+            criteria = criteria.andOperator(epochDayCriteria.snapshotDays(startDate, endDate),
+                Criteria.where(EpochDayCriteria.FIELD).nin(excludedDates.stream().map(EpochDayCriteria::day).toList()),
+                Criteria.where("date").nin(excludedDates));
+        }
+
+        List<Document> pipeline = List.of(
+            new Document("$match", toMongo(criteria.getCriteriaObject())),
+            new Document("$group", new Document("_id",
+                new Document("user_id", "$meta.user_id").append("day", dayKey()))
+                .append("total_minutes", new Document("$max", "$screen_time_minutes"))
+                .append("youtube_minutes", new Document("$max", "$youtube_minutes"))),
+            new Document("$group", new Document("_id", "$_id.user_id")
+                .append("total_minutes", new Document("$sum", "$total_minutes"))
+                .append("youtube_minutes", new Document("$sum", "$youtube_minutes")))
+        );
+
+        for (Document row : mongoTemplate.getCollection(mongoTemplate.getCollectionName(ScreenTimeSnapshot.class))
+                .aggregate(pipeline)) {
+            result.put(
+                ((Number) row.get("_id")).longValue(),
+                new UsageAsOf(
+                    ((Number) row.get("total_minutes")).intValue(),
+                    ((Number) row.get("youtube_minutes")).intValue()
+                )
+            );
+        }
+        return result;
+    }
+
+    /**
+     * 사용자 ID 구간 × 기간의 (사용자, 날짜) 별 Snapshot 최대값 (정합성 검사용)
+     * - user_day_idx 범위 스캔 + 서버 측 $group, 사용자 → 날짜순 반환
+     *
+     * @param fromUserId 시작 사용자 ID (포함)
+     * @param toUserId 끝 사용자 ID (포함)
+     */
+    public List<DailyMax> findDailyMax(long fromUserId, long toUserId, LocalDate startDate, LocalDate endDate) {
+        Criteria criteria = Criteria.where("meta.user_id").gte(fromUserId).lte(toUserId)
+            .andOperator(epochDayCriteria.snapshotDays(startDate, endDate));
+
+        List<Document> pipeline = List.of(
+            new Document("$match", toMongo(criteria.getCriteriaObject())),
+            new Document("$group", new Document("_id",
+                new Document("user_id", "$meta.user_id").append("day", dayKey()))
+                .append("total_minutes", new Document("$max", "$screen_time_minutes"))
+                .append("youtube_minutes", new Document("$max", "$youtube_minutes"))),
+            new Document("$sort", new Document("_id.user_id", 1).append("_id.day", 1))
+        );
+
+        List<DailyMax> result = new ArrayList<>();
+        for (Document row : mongoTemplate.getCollection(mongoTemplate.getCollectionName(ScreenTimeSnapshot.class))
+                .aggregate(pipeline).allowDiskUse(true)) {
+            Document key = row.get("_id", Document.class);
+            Number total = (Number) row.get("total_minutes");
+            Number youtube = (Number) row.get("youtube_minutes");
+            result.add(new DailyMax(
+                ((Number) key.get("user_id")).longValue(),
+                LocalDate.ofEpochDay(((Number) key.get("day")).longValue()),
+                total != null ? total.intValue() : 0,
+                youtube != null ? youtube.intValue() : 0
+            ));
+        }
+        return result;
+    }
+
+    /**
+     * 기간 내 Snapshot 이 있는 사용자 ID 범위 (없으면 null)
+     */
+    public long[] findUserIdRange(LocalDate startDate, LocalDate endDate) {
+        Long min = findBoundaryUserId(startDate, endDate, Sort.Direction.ASC);
+        Long max = findBoundaryUserId(startDate, endDate, Sort.Direction.DESC);
+        return min != null && max != null ? new long[]{min, max} : null;
+    }
+
+    private Long findBoundaryUserId(LocalDate startDate, LocalDate endDate, Sort.Direction direction) {
+        Query query = Query.query(epochDayCriteria.snapshotDays(startDate, endDate))
+            .with(Sort.by(direction, "meta.user_id"));
+        query.fields().include("meta");
+        ScreenTimeSnapshot snapshot = mongoTemplate.findOne(query, ScreenTimeSnapshot.class);
+        return snapshot != null ? snapshot.getUserId() : null;
+    }
+
+    private Object toMongo(Object value) {
+        return mongoTemplate.getConverter().convertToMongoType(value);
+    }
+
+    /**
+     * 날짜 그룹 키 - d, 없으면 기존 date(로컬 자정) 를 epoch-day 로 변환
+     * 전환 기간에 같은 날짜의 이전 / 이후 문서가 한 그룹으로 묶여야 최대값이 맞음
+     */
+    private Document dayKey() {
+        ZoneId zone = ZoneId.systemDefault();
+        Date epoch = Date.from(LocalDate.EPOCH.atStartOfDay(zone).toInstant());
+        Document legacyDay = new Document("$dateDiff", new Document("startDate", epoch)
+            .append("endDate", "$date")
+            .append("unit", "day")
+            .append("timezone", zone.getId()));
+        return new Document("$ifNull", List.of("$" + EpochDayCriteria.FIELD, legacyDay));
+    }
+
+    /**
+     * (사용자, 날짜) 별 Snapshot 최대값 (분)
+     */
+    public record DailyMax(Long userId, LocalDate date, int totalMinutes, int youtubeMinutes) {
+    }
+
+    /**
+     * 특정 시각 기준 누적 사용량 (분)
+     */
+    public record UsageAsOf(int totalMinutes, int youtubeMinutes) {
+
+        public UsageAsOf plus(int totalMinutes, int youtubeMinutes) {
+            return new UsageAsOf(this.totalMinutes + totalMinutes, this.youtubeMinutes + youtubeMinutes);
+        }
+    }
+}
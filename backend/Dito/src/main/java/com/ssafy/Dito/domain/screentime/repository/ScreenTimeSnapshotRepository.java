@@ -0,0 +1,13 @@
+package com.ssafy.Dito.domain.screentime.repository;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeSnapshot;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * MongoDB repository for screen time snapshots (time-series 컬렉션)
+ * 스크린타임 이력 저장 (조회는 ScreenTimeSnapshotQueryRepository, epoch-day 조건)
+ */
+@Repository
+public interface ScreenTimeSnapshotRepository extends MongoRepository<ScreenTimeSnapshot, String> {
+}
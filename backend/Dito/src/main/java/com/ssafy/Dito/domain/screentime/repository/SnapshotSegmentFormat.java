@@ -0,0 +1,165 @@
+package com.ssafy.Dito.domain.screentime.repository;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeSnapshot;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeSnapshotArchive.ArchivedSnapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Snapshot 아카이브 세그먼트 파일 포맷 (하루 = 파일 하나)
+ *
+ * [header]  magic(int) version(byte) epochDay(long)
+ * [blocks]  사용자별 블록 (deflate 압축), recorded_at 오름차순
+ *           count, recorded_at 열, group_id 열, screen_time_minutes 열, youtube_minutes 열
+ *           각 열은 직전 값과의 차이를 zigzag varint 로 저장 (null 은 값 + 1 로 0 을 비워 둠)
+ * [index]   userCount(int), 사용자별 (userId long, offset long, length int, rowCount int)
+ * [footer]  indexOffset(long) magic(int)
+ *
+ * 사용자 한 명 조회는 footer → index → 해당 블록만 읽어 압축 해제
+ */
+final class SnapshotSegmentFormat {
+
+    static final int MAGIC = 0x44534547; // "DSEG"
+    static final byte VERSION = 1;
+    static final int HEADER_SIZE = Integer.BYTES + Byte.BYTES + Long.BYTES;
+    static final int FOOTER_SIZE = Long.BYTES + Integer.BYTES;
+
+    private SnapshotSegmentFormat() {
+    }
+
+    /**
+     * 사용자 한 명의 Snapshot 을 열 단위로 인코딩 후 압축
+     */
+    static byte[] encodeBlock(LocalDate date, List<ScreenTimeSnapshot> snapshots) throws IOException {
+        LocalDateTime dayStart = date.atStartOfDay();
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(snapshots.size() * 8 + 8);
+        writeVarLong(raw, snapshots.size());
+
+        long previous = 0;
+        for (ScreenTimeSnapshot snapshot : snapshots) {
+            long offset = ChronoUnit.MILLIS.between(dayStart, snapshot.getRecordedAt());
+            writeVarLong(raw, zigzag(offset - previous));
+            previous = offset;
+        }
+        previous = 0;
+        for (ScreenTimeSnapshot snapshot : snapshots) {
+            long value = nullable(snapshot.getGroupId());
+            writeVarLong(raw, zigzag(value - previous));
+            previous = value;
+        }
+        previous = 0;
+        for (ScreenTimeSnapshot snapshot : snapshots) {
+            long value = nullable(snapshot.getScreenTimeMinutes());
+            writeVarLong(raw, zigzag(value - previous));
+            previous = value;
+        }
+        previous = 0;
+        for (ScreenTimeSnapshot snapshot : snapshots) {
+            long value = nullable(snapshot.getYoutubeMinutes());
+            writeVarLong(raw, zigzag(value - previous));
+            previous = value;
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.size() / 2 + 16);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+            raw.writeTo(out);
+        } finally {
+            deflater.end();
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * 사용자 블록 압축 해제 후 행으로 복원
+     */
+    static List<ArchivedSnapshot> decodeBlock(LocalDate date, Long userId, byte[] block) throws IOException {
+        LocalDateTime dayStart = date.atStartOfDay();
+        try (InputStream in = new InflaterInputStream(new ByteArrayInputStream(block))) {
+            int count = (int) readVarLong(in);
+            long[] recordedAt = readColumn(in, count);
+            long[] groupIds = readColumn(in, count);
+            long[] screenTime = readColumn(in, count);
+            long[] youtube = readColumn(in, count);
+
+            List<ArchivedSnapshot> rows = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                rows.add(new ArchivedSnapshot(
+                    toLong(groupIds[i]),
+                    userId,
+                    date,
+                    dayStart.plus(recordedAt[i], ChronoUnit.MILLIS),
+                    toInteger(screenTime[i]),
+                    toInteger(youtube[i])
+                ));
+            }
+            return rows;
+        }
+    }
+
+    private static long[] readColumn(InputStream in, int count) throws IOException {
+        long[] values = new long[count];
+        long previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += unzigzag(readVarLong(in));
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    private static long nullable(Number value) {
+        return value == null ? 0 : value.longValue() + 1;
+    }
+
+    private static Long toLong(long value) {
+        return value == 0 ? null : value - 1;
+    }
+
+    private static Integer toInteger(long value) {
+        return value == 0 ? null : (int) (value - 1);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("세그먼트 블록이 잘렸습니다");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("잘못된 varint");
+    }
+}
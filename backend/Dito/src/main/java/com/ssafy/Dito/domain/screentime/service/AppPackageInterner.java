@@ -0,0 +1,100 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeAppPackage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 앱 패키지명 ↔ 정수 app_id 인터닝 (screen_time_app_packages)
+ * - 한 번 본 패키지는 메모리에 보관 → 앱 전환마다 Mongo 조회 없음
+ * - 신규 패키지는 현재 최대 app_id + 1 로 insert, 다른 인스턴스와 충돌하면(_id / app_id 중복) 다시 조회 후 재시도
+ * - 매핑은 추가만 되고 바뀌지 않으므로 캐시 무효화 불필요
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AppPackageInterner {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Map<String, Integer> idsByPackage = new ConcurrentHashMap<>();
+    private final Map<Integer, ScreenTimeAppPackage> packagesById = new ConcurrentHashMap<>();
+
+    /**
+     * 패키지명의 app_id (없으면 등록)
+     */
+    public int intern(String appPackage, String appName) {
+        Integer cached = idsByPackage.get(appPackage);
+        if (cached != null) {
+            return cached;
+        }
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            ScreenTimeAppPackage existing = mongoTemplate.findById(appPackage, ScreenTimeAppPackage.class);
+            if (existing != null) {
+                return cache(existing);
+            }
+            ScreenTimeAppPackage created = ScreenTimeAppPackage.of(appPackage, maxAppId() + 1, appName);
+            try {
+                mongoTemplate.insert(created);
+                log.debug("앱 패키지 등록 - appPackage: {}, appId: {}", appPackage, created.getAppId());
+                return cache(created);
+            } catch (DuplicateKeyException e) {
+                // 다른 요청이 같은 패키지 또는 같은 app_id 를 먼저 등록 → 다시 조회
+            }
+        }
+        throw new IllegalStateException("앱 패키지 등록 실패: " + appPackage);
+    }
+
+    /**
+     * app_id 목록의 패키지 정보 (캐시에 없는 것만 한 번에 조회)
+     */
+    public Map<Integer, ScreenTimeAppPackage> resolve(Collection<Integer> appIds) {
+        Map<Integer, ScreenTimeAppPackage> result = new HashMap<>();
+        Set<Integer> misses = new HashSet<>();
+        for (Integer appId : appIds) {
+            ScreenTimeAppPackage cached = packagesById.get(appId);
+            if (cached != null) {
+                result.put(appId, cached);
+            } else {
+                misses.add(appId);
+            }
+        }
+        if (!misses.isEmpty()) {
+            for (ScreenTimeAppPackage appPackage : mongoTemplate.find(
+                    Query.query(Criteria.where("app_id").in(misses)), ScreenTimeAppPackage.class)) {
+                cache(appPackage);
+                result.put(appPackage.getAppId(), appPackage);
+            }
+        }
+        return result;
+    }
+
+    private int cache(ScreenTimeAppPackage appPackage) {
+        idsByPackage.put(appPackage.getAppPackage(), appPackage.getAppId());
+        packagesById.put(appPackage.getAppId(), appPackage);
+        return appPackage.getAppId();
+    }
+
+    private int maxAppId() {
+        Query query = new Query().with(Sort.by(Sort.Direction.DESC, "app_id"));
+        query.fields().include("app_id");
+        ScreenTimeAppPackage last = mongoTemplate.findOne(query, ScreenTimeAppPackage.class);
+        return last != null ? last.getAppId() : 0;
+    }
+}
@@ -0,0 +1,321 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeAppPackage;
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeAppTimeline;
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeAppTimeline.Segment;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeAppTimelineQueryRepository;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeAppTimelineQueryRepository.DaySegments;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 현재 앱 이벤트 → 사용자별 앱 사용 구간 (run-length)
+ * - 사용자마다 열린 구간(앱, 시작 시각, 마지막 수신 시각) 하나만 메모리에 유지
+ * - 현재 앱 이벤트는 앱 전환 시에만 오므로 다른 앱 이벤트가 오면 열린 구간을 지금 시각에 닫고 새 구간 시작
+ * - 스크린타임 업로드(touch) 가 열린 구간의 마지막 수신 시각을 갱신
+ * - max-gap-seconds 동안 아무 수신이 없는 열린 구간만 만료 → 마지막 수신 시각에 닫음 (화면 꺼짐 / 앱 종료)
+ * - flush-interval-ms 마다 패키지명 인터닝 후 닫힌 구간을 날짜 경계로 나눠 (사용자, 날짜) 문서에 bulk $push
+ *   (요청 스레드에서는 Mongo 를 호출하지 않음, 실패한 항목은 다음 주기에 재시도 - 최대 max-pending-days 건)
+ * - screentime.app-timeline.enabled=true 일 때만 기록
+ */
+@Slf4j
+@Component
+public class AppTimelineRecorder {
+
+    private final ScreenTimeAppTimelineQueryRepository timelineQueryRepository;
+    private final AppPackageInterner packageInterner;
+    private final boolean enabled;
+    private final long maxGapMillis;
+    private final long flushIntervalMillis;
+    private final int maxPendingDays;
+
+    private final Map<Long, OpenSegment> openSegments = new ConcurrentHashMap<>();
+    private final Queue<ClosedSegment> closedSegments = new ConcurrentLinkedQueue<>();
+    private final Queue<DaySegments> failedDays = new ConcurrentLinkedQueue<>();
+    private ScheduledExecutorService scheduler;
+
+    public AppTimelineRecorder(
+        ScreenTimeAppTimelineQueryRepository timelineQueryRepository,
+        AppPackageInterner packageInterner,
+        @Value("${screentime.app-timeline.enabled:false}") boolean enabled,
+        @Value("${screentime.app-timeline.max-gap-seconds:600}") long maxGapSeconds,
+        @Value("${screentime.app-timeline.flush-interval-ms:30000}") long flushIntervalMillis,
+        @Value("${screentime.app-timeline.max-pending-days:10000}") int maxPendingDays
+    ) {
+        this.timelineQueryRepository = timelineQueryRepository;
+        this.packageInterner = packageInterner;
+        this.enabled = enabled;
+        this.maxGapMillis = TimeUnit.SECONDS.toMillis(maxGapSeconds);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxPendingDays = maxPendingDays;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "app-timeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("앱 타임라인 저장 스레드가 종료되지 않음 - 종료 시 저장 생략");
+            return;
+        }
+        // 진행 중 구간은 지금 시각, 만료된 구간은 마지막 수신 시각으로 닫아서 저장
+        long now = System.currentTimeMillis();
+        openSegments.keySet().forEach(userId -> openSegments.computeIfPresent(userId, (id, open) -> {
+            closedSegments.add(open.closeAt(id, endOf(open, now)));
+            return null;
+        }));
+        flush();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 현재 앱 이벤트 기록 (메모리만, 인터닝 / 저장은 flush 주기)
+     */
+    public void record(Long userId, String appPackage, String appName) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        openSegments.compute(userId, (id, open) -> {
+            if (open != null) {
+                boolean expired = isExpired(open, now);
+                if (!expired && open.appPackage().equals(appPackage)) {
+                    return open.touch(now);
+                }
+                closedSegments.add(open.closeAt(id, endOf(open, now)));
+            }
+            return new OpenSegment(appPackage, appName, now, now);
+        });
+    }
+
+    /**
+     * 앱 전환 없이 계속 사용 중임을 알림 (스크린타임 업로드 주기) - 만료 전 열린 구간만 연장
+     */
+    public void touch(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        openSegments.computeIfPresent(userId, (id, open) -> isExpired(open, now) ? open : open.touch(now));
+    }
+
+    /**
+     * 아직 저장되지 않은 구간 - 저장 대기 / 재시도 중인 구간 + 진행 중 구간 (만료 전이면 끝 = 지금)
+     */
+    public List<UnsavedSegment> unsavedSegments(Long userId) {
+        List<UnsavedSegment> result = new ArrayList<>();
+        for (ClosedSegment closed : closedSegments) {
+            if (closed.userId().equals(userId)) {
+                result.add(closed.unsaved());
+            }
+        }
+
+        List<DaySegments> retrying = failedDays.stream()
+            .filter(days -> days.userId().equals(userId))
+            .toList();
+        if (!retrying.isEmpty()) {
+            Set<Integer> appIds = new HashSet<>();
+            retrying.forEach(days -> days.segments()
+                .forEach(encoded -> appIds.add(ScreenTimeAppTimeline.decode(encoded).appId())));
+            Map<Integer, ScreenTimeAppPackage> packages = packageInterner.resolve(appIds);
+            ZoneId zone = ZoneId.systemDefault();
+            for (DaySegments days : retrying) {
+                long midnight = days.date().atStartOfDay(zone).toInstant().toEpochMilli();
+                for (Long encoded : days.segments()) {
+                    Segment segment = ScreenTimeAppTimeline.decode(encoded);
+                    ScreenTimeAppPackage appPackage = packages.get(segment.appId());
+                    long start = midnight + segment.startSecond() * 1000L;
+                    result.add(new UnsavedSegment(
+                        appPackage != null ? appPackage.getAppPackage() : null,
+                        appPackage != null ? appPackage.getAppName() : null,
+                        start, start + segment.durationSeconds() * 1000L));
+                }
+            }
+        }
+
+        OpenSegment open = openSegments.get(userId);
+        if (open != null) {
+            result.add(open.closeAt(userId, endOf(open, System.currentTimeMillis())).unsaved());
+        }
+        return result;
+    }
+
+    /**
+     * 만료된 열린 구간을 닫고, 닫힌 구간을 인터닝 / 날짜별로 나눠 저장
+     */
+    void flush() {
+        long now = System.currentTimeMillis();
+        openSegments.keySet().forEach(userId -> openSegments.computeIfPresent(userId, (id, open) -> {
+            if (!isExpired(open, now)) {
+                return open;
+            }
+            closedSegments.add(open.closeAt(id, open.lastSeenMillis()));
+            return null;
+        }));
+
+        List<ClosedSegment> drained = new ArrayList<>();
+        ClosedSegment segment;
+        while ((segment = closedSegments.poll()) != null) {
+            drained.add(segment);
+        }
+
+        // 이전 주기에 실패한 항목 + 이번 주기 구간 (패키지 인터닝 실패 시 해당 구간만 다음 주기로)
+        Map<DayKey, List<Long>> byDay = new LinkedHashMap<>();
+        DaySegments failed;
+        while ((failed = failedDays.poll()) != null) {
+            byDay.computeIfAbsent(new DayKey(failed.userId(), failed.date()), key -> new ArrayList<>())
+                .addAll(failed.segments());
+        }
+        Map<String, Integer> appIds = new HashMap<>();
+        for (ClosedSegment closed : drained) {
+            Integer appId = appIds.computeIfAbsent(closed.appPackage(), appPackage -> internSafely(closed));
+            if (appId == null) {
+                closedSegments.add(closed);
+                continue;
+            }
+            splitByDay(closed, appId, byDay);
+        }
+        if (byDay.isEmpty()) {
+            return;
+        }
+
+        List<DaySegments> entries = byDay.entrySet().stream()
+            .map(entry -> new DaySegments(entry.getKey().userId(), entry.getKey().date(), entry.getValue()))
+            .toList();
+        List<DaySegments> notSaved;
+        try {
+            notSaved = timelineQueryRepository.appendSegments(entries);
+        } catch (RuntimeException e) {
+            // bulk 결과를 알 수 없는 오류 (연결 끊김 등) → 전체를 다음 주기에 재시도 ($addToSet 이라 이미 반영된 구간은 중복되지 않음)
+            requeue(entries);
+            throw e;
+        }
+        requeue(notSaved);
+        log.debug("앱 타임라인 저장 완료 - segments: {}, days: {}, failed: {}", drained.size(), entries.size(), notSaved.size());
+    }
+
+    private Integer internSafely(ClosedSegment closed) {
+        try {
+            return packageInterner.intern(closed.appPackage(), closed.appName());
+        } catch (RuntimeException e) {
+            log.warn("앱 패키지 등록 실패 - appPackage: {}", closed.appPackage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * 자정을 넘는 구간은 날짜별로 나눠 인코딩 (초 단위, 0초 구간은 버림)
+     */
+    private void splitByDay(ClosedSegment closed, int appId, Map<DayKey, List<Long>> byDay) {
+        ZoneId zone = ZoneId.systemDefault();
+        long startSecond = closed.startMillis() / 1000;
+        long endSecond = closed.endMillis() / 1000;
+        while (startSecond < endSecond) {
+            ZonedDateTime start = Instant.ofEpochSecond(startSecond).atZone(zone);
+            LocalDate date = start.toLocalDate();
+            long midnight = date.atStartOfDay(zone).toEpochSecond();
+            long nextMidnight = date.plusDays(1).atStartOfDay(zone).toEpochSecond();
+            long until = Math.min(endSecond, nextMidnight);
+
+            byDay.computeIfAbsent(new DayKey(closed.userId(), date), key -> new ArrayList<>())
+                .add(ScreenTimeAppTimeline.encode(appId, (int) (startSecond - midnight), (int) (until - startSecond)));
+            startSecond = until;
+        }
+    }
+
+    private boolean isExpired(OpenSegment open, long now) {
+        return now - open.lastSeenMillis() > maxGapMillis;
+    }
+
+    /**
+     * 열린 구간의 끝 - 만료 전이면 지금, 만료됐으면 마지막 수신 시각
+     */
+    private long endOf(OpenSegment open, long now) {
+        return isExpired(open, now) ? open.lastSeenMillis() : now;
+    }
+
+    /**
+     * 재시도 대기열에 추가 (max-pending-days 초과분은 오래된 항목부터 버림 - Mongo 장애 시 메모리 보호)
+     */
+    private void requeue(List<DaySegments> entries) {
+        int dropped = Math.max(entries.size() - maxPendingDays, 0);
+        if (dropped > 0) {
+            log.warn("앱 타임라인 재시도 대기열 초과 - dropped days: {}", dropped);
+        }
+        failedDays.addAll(entries.subList(dropped, entries.size()));
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("앱 타임라인 저장 실패", e);
+        }
+    }
+
+    private record OpenSegment(String appPackage, String appName, long startMillis, long lastSeenMillis) {
+
+        OpenSegment touch(long now) {
+            return new OpenSegment(appPackage, appName, startMillis, now);
+        }
+
+        ClosedSegment closeAt(Long userId, long endMillis) {
+            return new ClosedSegment(userId, appPackage, appName, startMillis, endMillis);
+        }
+    }
+
+    private record ClosedSegment(Long userId, String appPackage, String appName, long startMillis, long endMillis) {
+
+        UnsavedSegment unsaved() {
+            return new UnsavedSegment(appPackage, appName, startMillis, endMillis);
+        }
+    }
+
+    /**
+     * 아직 저장되지 않은 앱 사용 구간 (epoch millis)
+     */
+    public record UnsavedSegment(String appPackage, String appName, long startMillis, long endMillis) {
+    }
+
+    private record DayKey(Long userId, LocalDate date) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeAppPackage;
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeAppTimeline;
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeAppTimeline.Segment;
+import com.ssafy.Dito.domain.screentime.dto.response.AppSessionsRes;
+import com.ssafy.Dito.domain.screentime.exception.AppTimelineDisabledException;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeAppTimelineQueryRepository;
+import com.ssafy.Dito.domain.screentime.service.AppTimelineRecorder.UnsavedSegment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 앱 사용 구간 조회 서비스 (AI 개입 에이전트용)
+ * - 조회 구간에 걸친 날짜 문서만 읽어 구간 디코딩, 아직 저장되지 않은 구간(메모리)도 포함
+ * - app_id → 패키지명은 AppPackageInterner 로 일괄 변환
+ */
+@Service
+@RequiredArgsConstructor
+public class AppTimelineService {
+
+    private final ScreenTimeAppTimelineQueryRepository timelineQueryRepository;
+    private final AppPackageInterner packageInterner;
+    private final AppTimelineRecorder timelineRecorder;
+
+    /**
+     * [from, to) 와 겹치는 앱 사용 구간 (시작 시각순, 구간 밖은 잘라냄)
+     */
+    public AppSessionsRes getSessions(Long userId, LocalDateTime from, LocalDateTime to) {
+        if (!timelineRecorder.isEnabled()) {
+            throw new AppTimelineDisabledException();
+        }
+
+        ZoneId zone = ZoneId.systemDefault();
+        long fromMillis = from.atZone(zone).toInstant().toEpochMilli();
+        long toMillis = to.atZone(zone).toInstant().toEpochMilli();
+
+        List<ScreenTimeAppTimeline> timelines = timelineQueryRepository.findByUserIdAndDays(
+            userId, from.toLocalDate(), to.toLocalDate());
+        Set<Integer> appIds = new HashSet<>();
+        timelines.forEach(timeline -> timeline.getSegments()
+            .forEach(encoded -> appIds.add(ScreenTimeAppTimeline.decode(encoded).appId())));
+        Map<Integer, ScreenTimeAppPackage> packages = packageInterner.resolve(appIds);
+
+        List<UnsavedSegment> segments = new ArrayList<>();
+        for (ScreenTimeAppTimeline timeline : timelines) {
+            long midnight = timeline.getDate().atStartOfDay(zone).toInstant().toEpochMilli();
+            for (Long encoded : timeline.getSegments()) {
+                Segment segment = ScreenTimeAppTimeline.decode(encoded);
+                ScreenTimeAppPackage appPackage = packages.get(segment.appId());
+                long start = midnight + segment.startSecond() * 1000L;
+                segments.add(new UnsavedSegment(
+                    appPackage != null ? appPackage.getAppPackage() : null,
+                    appPackage != null ? appPackage.getAppName() : null,
+                    start, start + segment.durationSeconds() * 1000L));
+            }
+        }
+        segments.addAll(timelineRecorder.unsavedSegments(userId));
+
+        List<AppSessionsRes.Session> sessions = segments.stream()
+            .filter(segment -> segment.endMillis() > fromMillis && segment.startMillis() < toMillis)
+            .sorted(Comparator.comparingLong(UnsavedSegment::startMillis))
+            .map(segment -> AppSessionsRes.Session.of(
+                segment.appPackage(),
+                segment.appName(),
+                toLocalDateTime(Math.max(segment.startMillis(), fromMillis), zone),
+                toLocalDateTime(Math.min(segment.endMillis(), toMillis), zone)
+            ))
+            .toList();
+
+        return AppSessionsRes.of(from, to, sessions);
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis, ZoneId zone) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zone);
+    }
+}
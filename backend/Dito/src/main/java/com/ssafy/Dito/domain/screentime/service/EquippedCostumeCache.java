@@ -0,0 +1,126 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import com.ssafy.Dito.domain._common.CostumeUrlUtil;
+import com.ssafy.Dito.domain.item.entity.Type;
+import com.ssafy.Dito.domain.user.userItem.entity.UserItem;
+import com.ssafy.Dito.domain.user.userItem.repository.EquippedItemQueryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자별 장착 코스튬 캐시 (랭킹 조회용)
+ * - 장착 아이템 ID + 계산된 코스튬 이미지 URL 을 함께 보관 → 랭킹 폴링마다 참여자 수만큼 발생하던 Postgres 조회 제거
+ * - miss 는 IN 쿼리 1회로 일괄 조회 (콜드 캐시에서도 참여자 수만큼 조회하지 않음)
+ * - 코스튬이 없는 사용자도 캐시 (negative entry)
+ * - 최대 maxSize 명 LRU, ttl 경과 시 재조회 (다른 인스턴스에서 장착 변경 시 반영 상한)
+ * - 장착 변경 시 invalidate 호출
+ * - 조회 결과 hit / miss 를 screentime.cache.requests{cache=costume} 로 기록
+ */
+@Component
+public class EquippedCostumeCache {
+
+    private static final EquippedCostume NONE = new EquippedCostume(null, null);
+
+    private final EquippedItemQueryRepository equippedItemQueryRepository;
+    private final CostumeUrlUtil costumeUrlUtil;
+    private final ScreenTimeMetrics metrics;
+    private final long ttlMillis;
+    private final Map<Long, CacheEntry> cache;
+
+    public EquippedCostumeCache(
+        EquippedItemQueryRepository equippedItemQueryRepository,
+        CostumeUrlUtil costumeUrlUtil,
+        ScreenTimeMetrics metrics,
+        @Value("${screentime.costume-cache.max-size:10000}") int maxSize,
+        @Value("${screentime.costume-cache.ttl-seconds:60}") long ttlSeconds
+    ) {
+        this.equippedItemQueryRepository = equippedItemQueryRepository;
+        this.costumeUrlUtil = costumeUrlUtil;
+        this.metrics = metrics;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CacheEntry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * 여러 사용자의 장착 코스튬 일괄 조회 (miss 만 조회 후 캐시)
+     *
+     * @return 모든 userId 에 대한 Map (코스튬이 없으면 itemId / imageUrl 이 null)
+     */
+    public Map<Long, EquippedCostume> getEquippedCostumes(Collection<Long> userIds) {
+        Map<Long, EquippedCostume> result = new HashMap<>();
+        long now = System.currentTimeMillis();
+
+        synchronized (cache) {
+            for (Long userId : userIds) {
+                CacheEntry entry = cache.get(userId);
+                if (entry != null && now - entry.loadedAt() <= ttlMillis) {
+                    result.put(userId, entry.costume());
+                }
+            }
+        }
+
+        int hits = result.size();
+        List<Long> missed = new ArrayList<>();
+        for (Long userId : userIds) {
+            if (!result.containsKey(userId)) {
+                missed.add(userId);
+            }
+        }
+        if (!missed.isEmpty()) {
+            Map<Long, UserItem> equipped = equippedItemQueryRepository.getEquippedItems(missed, Type.COSTUME);
+            synchronized (cache) {
+                for (Long userId : missed) {
+                    EquippedCostume costume = toCostume(userId, equipped.get(userId));
+                    result.put(userId, costume);
+                    cache.put(userId, new CacheEntry(costume, now));
+                }
+            }
+        }
+        int misses = missed.size();
+        metrics.recordCache(ScreenTimeMetrics.CACHE_COSTUME, hits, misses);
+        return result;
+    }
+
+    /**
+     * 장착 변경 시 캐시 제거 - 코스튬 장착 / 해제 트랜잭션 커밋 후 호출
+     * (호출되지 않는 인스턴스는 ttl 경과 후 반영)
+     */
+    public void invalidate(Long userId) {
+        synchronized (cache) {
+            cache.remove(userId);
+        }
+    }
+
+    private EquippedCostume toCostume(Long userId, UserItem equipped) {
+        if (equipped == null) {
+            return NONE;
+        }
+        Long itemId = equipped.getId().getItem().getId();
+        String baseImageUrl = equipped.getId().getItem().getImgUrl();
+        return new EquippedCostume(
+            itemId != null ? itemId.intValue() : null,
+            costumeUrlUtil.getCostumeUrl(baseImageUrl, userId, false)
+        );
+    }
+
+    /**
+     * 장착 코스튬 (itemId == null 이면 미장착)
+     */
+    public record EquippedCostume(Integer itemId, String imageUrl) {
+    }
+
+    private record CacheEntry(EquippedCostume costume, long loadedAt) {
+    }
+}
@@ -0,0 +1,241 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import com.ssafy.Dito.domain.screentime.dto.response.RankingStreamEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 그룹 랭킹 실시간 스트림 브로커 (SSE, 인스턴스 내 fan-out)
+ * - 그룹별 구독자(SseEmitter) 목록 관리, 구독자가 없는 그룹은 아무 작업도 하지 않음
+ * - 순위 변경: REST 랭킹과 같은 계산(ScreenTimeService.getRankChanges)으로 다시 읽어
+ *   마지막으로 보낸 순위와 비교, 달라진 참여자만 전송 / 같은 그룹의 연속 변경은 전송 전까지 하나로 합침
+ * - 현재 앱 변경: 받은 값을 그대로 전송
+ * - 순위 계산은 dispatcher 스레드, 실제 전송은 sender-threads 크기의 전송 풀에서 구독자별 큐를 순서대로 비움
+ *   → 느린 구독자 한 명이 다른 그룹 / 구독자 전송을 막지 않음
+ *   → 구독자 큐가 max-pending-events 를 넘으면 느린 구독자로 보고 연결 종료
+ * - heartbeat 로 연결 유지 및 끊긴 구독자 정리
+ */
+@Slf4j
+@Component
+public class GroupRankingBroker {
+
+    // 순환 의존 (ScreenTimeService → PresenceRegistry → GroupRankingBroker) 이라 지연 조회
+    private final ObjectProvider<ScreenTimeService> screenTimeServiceProvider;
+    private final long timeoutMillis;
+    private final int maxPendingEvents;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, RankingStreamEvent.RankChange>> lastRanks = new ConcurrentHashMap<>();
+    private final Set<Long> pendingGroups = ConcurrentHashMap.newKeySet();
+
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ranking-stream-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService sender;
+
+    public GroupRankingBroker(
+        ObjectProvider<ScreenTimeService> screenTimeServiceProvider,
+        MeterRegistry meterRegistry,
+        @Value("${screentime.ranking-stream.timeout-minutes:30}") long timeoutMinutes,
+        @Value("${screentime.ranking-stream.heartbeat-seconds:25}") long heartbeatSeconds,
+        @Value("${screentime.ranking-stream.sender-threads:4}") int senderThreads,
+        @Value("${screentime.ranking-stream.max-pending-events:100}") int maxPendingEvents
+    ) {
+        this.screenTimeServiceProvider = screenTimeServiceProvider;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+        this.maxPendingEvents = maxPendingEvents;
+
+        AtomicInteger senderIndex = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(senderThreads, r -> {
+            Thread thread = new Thread(r, "ranking-stream-sender-" + senderIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("screentime.ranking.stream.subscribers", subscribers,
+                map -> map.values().stream().mapToInt(Set::size).sum())
+            .description("랭킹 스트림 구독자 수")
+            .register(meterRegistry);
+        dispatcher.scheduleWithFixedDelay(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        sender.shutdownNow();
+        subscribers.values().forEach(group -> group.forEach(subscriber -> subscriber.emitter().complete()));
+    }
+
+    /**
+     * 그룹 구독 (연결 종료 / 타임아웃 / 오류 시 자동 해제)
+     */
+    public SseEmitter subscribe(Long groupId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(groupId, emitter);
+        subscribers.computeIfAbsent(groupId, id -> new CopyOnWriteArraySet<>()).add(subscriber);
+
+        Runnable remove = () -> unsubscribe(subscriber);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    /**
+     * 그룹 순위가 바뀌었을 수 있음 (스크린타임 갱신 / 참여자 변경)
+     */
+    public void rankingChanged(Long groupId) {
+        if (!subscribers.containsKey(groupId) || !pendingGroups.add(groupId)) {
+            return;
+        }
+        dispatcher.execute(() -> {
+            pendingGroups.remove(groupId);
+            try {
+                publishRankChanges(groupId);
+            } catch (Exception e) {
+                log.error("랭킹 스트림 전송 실패 - groupId: {}", groupId, e);
+            }
+        });
+    }
+
+    /**
+     * 현재 사용 중인 앱 변경
+     */
+    public void presenceChanged(Long groupId, Long userId, String appPackage, String appName) {
+        if (groupId == null || !subscribers.containsKey(groupId)) {
+            return;
+        }
+        RankingStreamEvent.Presence presence = RankingStreamEvent.Presence.of(userId, appPackage, appName);
+        broadcast(groupId, RankingStreamEvent.PRESENCE, presence);
+    }
+
+    private void publishRankChanges(Long groupId) {
+        Map<Long, RankingStreamEvent.RankChange> current = new HashMap<>();
+        for (RankingStreamEvent.RankChange rank : screenTimeServiceProvider.getObject().getRankChanges(groupId)) {
+            current.put(rank.userId(), rank);
+        }
+
+        Map<Long, RankingStreamEvent.RankChange> previous = lastRanks.put(groupId, current);
+        List<RankingStreamEvent.RankChange> changes = new ArrayList<>();
+        for (RankingStreamEvent.RankChange change : current.values()) {
+            if (previous == null || !change.equals(previous.get(change.userId()))) {
+                changes.add(change);
+            }
+        }
+        if (!changes.isEmpty()) {
+            broadcast(groupId, RankingStreamEvent.RANK, changes);
+        }
+    }
+
+    private void broadcast(Long groupId, String eventName, Object data) {
+        Set<Subscriber> group = subscribers.get(groupId);
+        if (group == null) {
+            return;
+        }
+        // SseEventBuilder 는 전송 시 내부 상태가 바뀌므로 구독자마다 새로 생성
+        group.forEach(subscriber -> enqueue(subscriber, SseEmitter.event().name(eventName).data(data)));
+    }
+
+    private void heartbeat() {
+        subscribers.values().forEach(group ->
+            group.forEach(subscriber -> enqueue(subscriber, SseEmitter.event().comment("ping"))));
+    }
+
+    /**
+     * 구독자 큐에 적재 후 전송 중이 아니면 전송 풀에 비우기 작업 등록 (구독자별 전송 순서 유지)
+     */
+    private void enqueue(Subscriber subscriber, SseEventBuilder event) {
+        if (subscriber.pendingCount().incrementAndGet() > maxPendingEvents) {
+            log.warn("랭킹 스트림 구독자 전송 지연 - 연결 종료, groupId: {}", subscriber.groupId());
+            unsubscribe(subscriber);
+            subscriber.emitter().complete();
+            return;
+        }
+        subscriber.pending().add(event);
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (!subscriber.draining().compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sender.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+            subscriber.draining().set(false);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        SseEventBuilder event;
+        while ((event = subscriber.pending().poll()) != null) {
+            subscriber.pendingCount().decrementAndGet();
+            try {
+                subscriber.emitter().send(event);
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(subscriber);
+                subscriber.pending().clear();
+                break;
+            }
+        }
+        subscriber.draining().set(false);
+        // 비우는 사이 들어온 이벤트 처리
+        if (!subscriber.pending().isEmpty()) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        Long groupId = subscriber.groupId();
+        subscribers.computeIfPresent(groupId, (id, group) -> {
+            group.remove(subscriber);
+            if (group.isEmpty()) {
+                lastRanks.remove(groupId);
+                return null;
+            }
+            return group;
+        });
+    }
+
+    /**
+     * 구독자별 전송 대기 큐 (draining = 전송 풀에서 비우는 중)
+     */
+    private record Subscriber(
+        Long groupId,
+        SseEmitter emitter,
+        Queue<SseEventBuilder> pending,
+        AtomicInteger pendingCount,
+        AtomicBoolean draining
+    ) {
+        Subscriber(Long groupId, SseEmitter emitter) {
+            this(groupId, emitter, new ConcurrentLinkedQueue<>(), new AtomicInteger(), new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 그룹 랭킹 버전 (ETag / 304 조건부 조회용)
+ * - 그룹별 단조 증가 버전을 메모리에 보관, 랭킹에 영향을 주는 변경 시 증가
+ *   (스크린타임 갱신, 현재 앱 갱신, 참여자 / 베팅 코인 / 챌린지 기간 변경)
+ * - 스크린타임 갱신은 사용자 단위이므로 랭킹 조회 시 등록한 참여자 → 그룹 매핑으로 해당 그룹들을 증가
+ *   (한 번도 조회되지 않은 그룹은 발급된 ETag 가 없으므로 증가할 필요 없음)
+ * - ETag 에 조회자(isMe), 날짜(경과일/일평균), max-age 구간을 포함
+ *   → 인스턴스마다 버전이 따로 있어도 다른 인스턴스 변경은 max-age 안에 반영
+ *   (max-age-seconds 가 0 이하이면 구간 없이 버전만 사용 - 단일 인스턴스용)
+ * - 버전이 바뀌면 랭킹 스트림 구독자에게 순위 변경 전송 (GroupRankingBroker)
+ * - 트랜잭션 안에서 호출되면 커밋 이후에 증가 (커밋 전 조회가 새 버전으로 옛 데이터를 캐시하는 것 방지)
+ * - 버전 항목은 실제 변경(increment) 시에만 생성 → 존재하지 않는 그룹 ID 조회로 항목이 늘지 않음
+ * - member-ttl-minutes 동안 랭킹 조회가 없는 그룹의 참여자 매핑은 제거 (종료된 챌린지 등)
+ *   매핑이 없으면 사용자 변경이 전파되지 않으므로 제거 시 버전을 올려 발급된 ETag 무효화
+ * - 삭제된 그룹은 evictGroup 으로 버전까지 제거
+ */
+@Component
+public class GroupRankingVersions {
+
+    private static final long SWEEP_INTERVAL_MILLIS = 60_000;
+
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> userGroups = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> groupMembers = new ConcurrentHashMap<>();
+    private final Map<Long, Long> registeredAt = new ConcurrentHashMap<>();
+    private final GroupRankingBroker rankingBroker;
+    private final long maxAgeMillis;
+    private final long memberTtlMillis;
+    private volatile long lastSweepMillis = System.currentTimeMillis();
+
+    public GroupRankingVersions(
+        GroupRankingBroker rankingBroker,
+        @Value("${screentime.ranking-etag.max-age-seconds:60}") long maxAgeSeconds,
+        @Value("${screentime.ranking-etag.member-ttl-minutes:60}") long memberTtlMinutes
+    ) {
+        this.rankingBroker = rankingBroker;
+        this.maxAgeMillis = maxAgeSeconds * 1000;
+        this.memberTtlMillis = TimeUnit.MINUTES.toMillis(memberTtlMinutes);
+    }
+
+    /**
+     * 현재 버전 기준 ETag (랭킹 계산 전에 읽어야 계산 중 변경이 다음 조회에서 반영됨)
+     */
+    public String etag(Long groupId, Long userId) {
+        AtomicLong current = versions.get(groupId);
+        long version = current != null ? current.get() : 0;
+        long bucket = maxAgeMillis > 0 ? System.currentTimeMillis() / maxAgeMillis : 0;
+        return "W/\"" + groupId + "-" + version + "-" + userId + "-" + LocalDate.now().toEpochDay()
+            + "-" + bucket + "\"";
+    }
+
+    /**
+     * 랭킹 조회 시 참여자 등록 (사용자 단위 변경을 그룹 버전으로 전파하기 위함)
+     */
+    public void registerMembers(Long groupId, Collection<Long> userIds) {
+        long now = System.currentTimeMillis();
+        registeredAt.put(groupId, now);
+        Set<Long> members = Set.copyOf(userIds);
+        Set<Long> previous = groupMembers.put(groupId, members);
+        if (previous != null) {
+            for (Long userId : previous) {
+                if (!members.contains(userId)) {
+                    removeUserGroup(userId, groupId);
+                }
+            }
+        }
+        for (Long userId : members) {
+            userGroups.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(groupId);
+        }
+        if (now - lastSweepMillis >= SWEEP_INTERVAL_MILLIS) {
+            lastSweepMillis = now;
+            evictIdleGroups(now);
+        }
+    }
+
+    /**
+     * 삭제된 그룹의 참여자 매핑 / 버전 제거
+     */
+    public void evictGroup(Long groupId) {
+        removeMembers(groupId);
+        versions.remove(groupId);
+    }
+
+    /**
+     * member-ttl 동안 랭킹 조회가 없던 그룹의 참여자 매핑 제거
+     */
+    private void evictIdleGroups(long now) {
+        registeredAt.forEach((groupId, at) -> {
+            if (now - at >= memberTtlMillis && registeredAt.remove(groupId, at)) {
+                removeMembers(groupId);
+                // 이후 사용자 변경은 이 그룹에 전파되지 않음 → 발급된 ETag 무효화
+                versions.computeIfAbsent(groupId, id -> new AtomicLong()).incrementAndGet();
+            }
+        });
+    }
+
+    private void removeMembers(Long groupId) {
+        registeredAt.remove(groupId);
+        Set<Long> members = groupMembers.remove(groupId);
+        if (members != null) {
+            members.forEach(userId -> removeUserGroup(userId, groupId));
+        }
+    }
+
+    private void removeUserGroup(Long userId, Long groupId) {
+        userGroups.computeIfPresent(userId, (id, groups) -> {
+            groups.remove(groupId);
+            return groups.isEmpty() ? null : groups;
+        });
+    }
+
+    public void bumpGroup(Long groupId) {
+        if (groupId == null) {
+            return;
+        }
+        afterCommit(() -> increment(groupId));
+    }
+
+    /**
+     * 사용자가 참여한(랭킹이 조회된) 모든 그룹 버전 증가
+     */
+    public void bumpUser(Long userId) {
+        afterCommit(() -> {
+            Set<Long> groups = userGroups.get(userId);
+            if (groups != null) {
+                groups.forEach(this::increment);
+            }
+        });
+    }
+
+    private void increment(Long groupId) {
+        versions.computeIfAbsent(groupId, id -> new AtomicLong()).incrementAndGet();
+        rankingBroker.rankingChanged(groupId);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * 스크린타임 증가분의 시간대별 배분
+ * 두 업로드 사이에 늘어난 분을 구간이 걸친 시간대에 머문 시간 비율대로 나눔 (같은 날짜 안에서만)
+ */
+public final class HourlyDistribution {
+
+    public static final int HOURS = 24;
+
+    private HourlyDistribution() {
+    }
+
+    /**
+     * @param date    사용량 날짜
+     * @param from    이전 업로드 시각 (null 이거나 다른 날짜면 자정부터)
+     * @param to      이번 업로드 시각 (다른 날짜면 그 날의 끝까지)
+     * @param minutes 배분할 분
+     * @return 시간대별 분 (합계 = minutes, 반올림 오차는 마지막 시간대에)
+     */
+    public static int[] spread(LocalDate date, LocalDateTime from, LocalDateTime to, int minutes) {
+        int[] buckets = new int[HOURS];
+        if (minutes <= 0) {
+            return buckets;
+        }
+
+        LocalDateTime dayStart = date.atStartOfDay();
+        LocalDateTime dayEnd = date.atTime(LocalTime.MAX);
+        LocalDateTime end = to == null || to.isAfter(dayEnd) ? dayEnd : to;
+        LocalDateTime start = from == null || from.isBefore(dayStart) ? dayStart : from;
+        if (end.isBefore(dayStart)) {
+            end = dayStart;
+        }
+        if (!start.isBefore(end)) {
+            buckets[end.getHour()] = minutes;
+            return buckets;
+        }
+
+        long spanSeconds = Math.max(Duration.between(start, end).getSeconds(), 1);
+        int assigned = 0;
+        for (int hour = start.getHour(); hour < end.getHour(); hour++) {
+            LocalDateTime hourEnd = dayStart.plusHours(hour + 1);
+            LocalDateTime hourStart = start.isAfter(dayStart.plusHours(hour)) ? start : dayStart.plusHours(hour);
+            long seconds = Duration.between(hourStart, hourEnd).getSeconds();
+            int share = (int) (minutes * seconds / spanSeconds);
+            buckets[hour] = share;
+            assigned += share;
+        }
+        buckets[end.getHour()] += minutes - assigned;
+        return buckets;
+    }
+}
@@ -0,0 +1,337 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import com.ssafy.Dito.domain.screentime.document.CurrentAppUsage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 현재 사용 중인 앱(presence) 메모리 레지스트리
+ * - (groupId, userId) 별 현재 앱 + 마지막 수신 시각을 메모리에 보관 → 앱 전환마다 하던 Mongo find + save 제거
+ * - 앱이 바뀐 경우만 알림 대상, debounce-ms 동안의 연속 전환은 마지막 값 한 번만 알림 (랭킹 버전 증가 + 스트림 전송)
+ * - ttl-seconds 동안 수신이 없으면 만료 (현재 앱 없음으로 알림)
+ *   앱 전환 이벤트 외에 스크린타임 업로드(touch)도 수신으로 취급 → 한 앱에 오래 머물러도 만료되지 않음
+ * - flush-interval-ms 마다 변경분만 current_app_usage 에 bulk upsert, 기동 시 ttl 이내 문서로 복원
+ * - 그룹 조회 시 current_app_usage 도 함께 읽어 (그룹별 flush-interval-ms 동안 캐시) 항목별로 더 최근 값 사용
+ *   → 다른 인스턴스가 받은 presence 도 최대 flush 주기 2회 만큼 늦게 보임 (sticky routing 불필요)
+ *   변경 알림(랭킹 버전 / 스트림)은 갱신을 받은 인스턴스에서만 발생
+ * - 갱신 시 기존 항목 유무를 screentime.cache.requests{cache=presence} hit / miss 로 기록
+ */
+@Slf4j
+@Component
+public class PresenceRegistry {
+
+    private final MongoTemplate mongoTemplate;
+    private final GroupRankingVersions rankingVersions;
+    private final GroupRankingBroker rankingBroker;
+    private final ScreenTimeMetrics metrics;
+    private final long ttlMillis;
+    private final long debounceMillis;
+    private final long flushIntervalMillis;
+
+    private final Map<Long, Map<Long, Presence>> groups = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> userGroups = new ConcurrentHashMap<>();
+    private final Set<PresenceKey> pendingNotify = ConcurrentHashMap.newKeySet();
+    private final Set<PresenceKey> dirty = ConcurrentHashMap.newKeySet();
+    private final Map<Long, StoredPresence> stored = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "presence-registry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PresenceRegistry(
+        MongoTemplate mongoTemplate,
+        GroupRankingVersions rankingVersions,
+        GroupRankingBroker rankingBroker,
+        MeterRegistry meterRegistry,
+        ScreenTimeMetrics metrics,
+        @Value("${screentime.presence.ttl-seconds:600}") long ttlSeconds,
+        @Value("${screentime.presence.debounce-ms:2000}") long debounceMillis,
+        @Value("${screentime.presence.flush-interval-ms:10000}") long flushIntervalMillis
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.rankingVersions = rankingVersions;
+        this.rankingBroker = rankingBroker;
+        this.metrics = metrics;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.debounceMillis = debounceMillis;
+        this.flushIntervalMillis = flushIntervalMillis;
+
+        Gauge.builder("screentime.presence.size", groups,
+                map -> map.values().stream().mapToInt(Map::size).sum())
+            .description("메모리 presence 항목 수")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        restore();
+        scheduler.scheduleWithFixedDelay(this::notifyPendingSafely, debounceMillis, debounceMillis, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::flushSafely, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        // 진행 중인 flush 와 겹치지 않도록 스케줄러 종료를 기다린 뒤 마지막으로 저장
+        scheduler.shutdown();
+        if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("presence 스레드가 종료되지 않음 - 종료 시 저장 생략");
+            return;
+        }
+        flush();
+    }
+
+    /**
+     * 현재 앱 갱신 (메모리만, 알림/저장은 비동기)
+     */
+    public void update(Long groupId, Long userId, String appPackage, String appName) {
+        long now = System.currentTimeMillis();
+        PresenceKey key = new PresenceKey(groupId, userId);
+        Presence[] previousHolder = new Presence[1];
+        // 그룹 맵 생성과 put 을 원자적으로 처리 (만료 정리에서 빈 그룹 제거와 경합 방지)
+        groups.compute(groupId, (id, presences) -> {
+            Map<Long, Presence> target = presences != null ? presences : new ConcurrentHashMap<>();
+            previousHolder[0] = target.put(userId, new Presence(appPackage, appName, now));
+            return target;
+        });
+        userGroups.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(groupId);
+        Presence previous = previousHolder[0];
+        metrics.recordCache(ScreenTimeMetrics.CACHE_PRESENCE, previous != null ? 1 : 0, previous != null ? 0 : 1);
+
+        if (previous == null || !Objects.equals(previous.appPackage(), appPackage)) {
+            pendingNotify.add(key);
+        }
+        dirty.add(key);
+    }
+
+    /**
+     * 사용 중 신호 (스크린타임 업로드) - 만료되지 않은 현재 앱의 마지막 수신 시각만 갱신
+     * 앱이 바뀌지 않았으므로 알림 없음, 재시작 복원을 위해 저장 대상에만 추가
+     */
+    public void touch(Long userId) {
+        Set<Long> groupIds = userGroups.get(userId);
+        if (groupIds == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiredBefore = now - ttlMillis;
+        for (Long groupId : groupIds) {
+            Map<Long, Presence> presences = groups.get(groupId);
+            if (presences == null) {
+                continue;
+            }
+            Presence touched = presences.computeIfPresent(userId, (id, presence) ->
+                presence.lastSeenMillis() >= expiredBefore ? presence.seenAt(now) : presence);
+            if (touched != null && touched.lastSeenMillis() == now) {
+                dirty.add(new PresenceKey(groupId, userId));
+            }
+        }
+    }
+
+    /**
+     * 그룹 참여자 현재 앱 (만료되지 않은 항목만)
+     * 메모리 항목과 저장된 항목(다른 인스턴스 포함) 중 마지막 수신 시각이 더 최근인 값
+     */
+    public Map<Long, Presence> getGroupPresence(Long groupId) {
+        long now = System.currentTimeMillis();
+        long expiredBefore = now - ttlMillis;
+        Map<Long, Presence> result = new HashMap<>();
+        storedPresence(groupId, now).forEach((userId, presence) -> {
+            if (presence.lastSeenMillis() >= expiredBefore) {
+                result.put(userId, presence);
+            }
+        });
+        groups.getOrDefault(groupId, Map.of()).forEach((userId, presence) -> {
+            if (presence.lastSeenMillis() >= expiredBefore) {
+                result.merge(userId, presence,
+                    (saved, local) -> local.lastSeenMillis() >= saved.lastSeenMillis() ? local : saved);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 그룹의 저장된 presence (flush-interval-ms 동안 캐시)
+     */
+    private Map<Long, Presence> storedPresence(Long groupId, long now) {
+        StoredPresence cached = stored.get(groupId);
+        if (cached != null && now - cached.loadedAtMillis() < flushIntervalMillis) {
+            return cached.presences();
+        }
+        Map<Long, Presence> presences = new HashMap<>();
+        for (CurrentAppUsage usage : mongoTemplate.find(
+                Query.query(Criteria.where("group_id").is(groupId).and("last_updated_at").gte(ttlStart())),
+                CurrentAppUsage.class)) {
+            presences.put(usage.getUserId(), toPresence(usage));
+        }
+        stored.put(groupId, new StoredPresence(presences, now));
+        return presences;
+    }
+
+    /**
+     * debounce 구간 동안 바뀐 presence 를 마지막 값으로 한 번만 알림
+     */
+    private void notifyPending() {
+        Iterator<PresenceKey> iterator = pendingNotify.iterator();
+        while (iterator.hasNext()) {
+            PresenceKey key = iterator.next();
+            iterator.remove();
+            Presence presence = groups.getOrDefault(key.groupId(), Map.of()).get(key.userId());
+            notifyChanged(key, presence);
+        }
+    }
+
+    /**
+     * 만료 항목 정리 후 변경분 bulk upsert
+     */
+    void flush() {
+        expire();
+        if (dirty.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulkOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, CurrentAppUsage.class);
+        List<PresenceKey> flushed = new ArrayList<>();
+        Iterator<PresenceKey> iterator = dirty.iterator();
+        while (iterator.hasNext()) {
+            PresenceKey key = iterator.next();
+            iterator.remove();
+            Presence presence = groups.getOrDefault(key.groupId(), Map.of()).get(key.userId());
+            if (presence == null) {
+                continue;
+            }
+            bulkOps.upsert(
+                Query.query(Criteria.where("group_id").is(key.groupId()).and("user_id").is(key.userId())),
+                new Update()
+                    .set("app_package", presence.appPackage())
+                    .set("app_name", presence.appName())
+                    .set("last_updated_at", presence.lastSeenAt())
+            );
+            flushed.add(key);
+        }
+        if (flushed.isEmpty()) {
+            return;
+        }
+        try {
+            bulkOps.execute();
+        } catch (RuntimeException e) {
+            // 다음 주기에 다시 저장
+            dirty.addAll(flushed);
+            throw e;
+        }
+        log.debug("presence 저장 완료 - count: {}", flushed.size());
+    }
+
+    private void expire() {
+        long now = System.currentTimeMillis();
+        long expiredBefore = now - ttlMillis;
+        stored.values().removeIf(cached -> now - cached.loadedAtMillis() >= flushIntervalMillis);
+        groups.forEach((groupId, presences) -> presences.forEach((userId, presence) -> {
+            if (presence.lastSeenMillis() < expiredBefore && presences.remove(userId, presence)) {
+                userGroups.computeIfPresent(userId, (id, groupIds) -> {
+                    groupIds.remove(groupId);
+                    return groupIds.isEmpty() ? null : groupIds;
+                });
+                notifyChanged(new PresenceKey(groupId, userId), null);
+            }
+        }));
+        groups.keySet().forEach(groupId ->
+            groups.computeIfPresent(groupId, (id, presences) -> presences.isEmpty() ? null : presences));
+    }
+
+    /**
+     * ttl 이내에 갱신된 current_app_usage 문서로 복원 (재시작 대비)
+     */
+    private void restore() {
+        List<CurrentAppUsage> recent = mongoTemplate.find(
+            Query.query(Criteria.where("last_updated_at").gte(ttlStart())),
+            CurrentAppUsage.class
+        );
+        for (CurrentAppUsage usage : recent) {
+            groups.computeIfAbsent(usage.getGroupId(), id -> new ConcurrentHashMap<>())
+                .put(usage.getUserId(), toPresence(usage));
+            userGroups.computeIfAbsent(usage.getUserId(), id -> ConcurrentHashMap.newKeySet()).add(usage.getGroupId());
+        }
+        log.info("presence 복원 완료 - count: {}", recent.size());
+    }
+
+    private LocalDateTime ttlStart() {
+        return LocalDateTime.now().minus(Duration.ofMillis(ttlMillis));
+    }
+
+    private Presence toPresence(CurrentAppUsage usage) {
+        long lastSeen = usage.getLastUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return new Presence(usage.getAppPackage(), usage.getAppName(), lastSeen);
+    }
+
+    private void notifyChanged(PresenceKey key, Presence presence) {
+        rankingVersions.bumpGroup(key.groupId());
+        rankingBroker.presenceChanged(key.groupId(), key.userId(),
+            presence != null ? presence.appPackage() : null,
+            presence != null ? presence.appName() : null);
+    }
+
+    private void notifyPendingSafely() {
+        try {
+            notifyPending();
+        } catch (Exception e) {
+            log.error("presence 알림 실패", e);
+        }
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("presence 저장 실패", e);
+        }
+    }
+
+    /**
+     * 현재 앱 정보 (불변, 갱신 시 교체)
+     */
+    public record Presence(String appPackage, String appName, long lastSeenMillis) {
+
+        Presence seenAt(long millis) {
+            return new Presence(appPackage, appName, millis);
+        }
+
+        public LocalDateTime lastSeenAt() {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(lastSeenMillis), ZoneId.systemDefault());
+        }
+    }
+
+    private record PresenceKey(Long groupId, Long userId) {
+    }
+
+    private record StoredPresence(Map<Long, Presence> presences, long loadedAtMillis) {
+    }
+}
@@ -0,0 +1,152 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 정수 점수 기반 order-statistic 인덱스 (점수 낮은 순 = 높은 순위)
+ * - 점수 범위가 0 ~ maxScore 로 한정되므로 점수별 인원수를 Fenwick tree 로 관리
+ *   → rank 는 O(log maxScore), 사용자 수와 무관
+ * - 점수별 사용자 집합(TreeMap<점수, TreeSet<userId>>) 으로 topK / neighbors 를 필요한 만큼만 순회
+ * - 동점자는 같은 순위 (1, 2, 2, 4 ...), 나열 순서는 userId 오름차순
+ * - 스레드 안전하지 않음 → 호출 측에서 잠금
+ */
+final class ScoreRankIndex {
+
+    private final int maxScore;
+    private final int[] tree;
+    private final TreeMap<Integer, TreeSet<Long>> buckets = new TreeMap<>();
+    private final Map<Long, Integer> scores = new HashMap<>();
+
+    ScoreRankIndex(int maxScore) {
+        this.maxScore = maxScore;
+        this.tree = new int[maxScore + 2];
+    }
+
+    int size() {
+        return scores.size();
+    }
+
+    /**
+     * 사용자 점수에 delta 를 더함 (없으면 0 에서 시작, 범위를 벗어나면 경계값)
+     */
+    void add(long userId, int delta) {
+        Integer current = scores.get(userId);
+        put(userId, (current != null ? current : 0) + delta);
+    }
+
+    void put(long userId, int score) {
+        int clamped = Math.max(0, Math.min(score, maxScore));
+        Integer current = scores.put(userId, clamped);
+        if (current != null) {
+            if (current == clamped) {
+                return;
+            }
+            TreeSet<Long> bucket = buckets.get(current);
+            bucket.remove(userId);
+            if (bucket.isEmpty()) {
+                buckets.remove(current);
+            }
+            update(current, -1);
+        }
+        buckets.computeIfAbsent(clamped, s -> new TreeSet<>()).add(userId);
+        update(clamped, 1);
+    }
+
+    /**
+     * @return 1부터 시작하는 순위 (없으면 -1)
+     */
+    int rank(long userId) {
+        Integer score = scores.get(userId);
+        return score != null ? rankOfScore(score) : -1;
+    }
+
+    Integer score(long userId) {
+        return scores.get(userId);
+    }
+
+    List<Entry> topK(int k) {
+        List<Entry> result = new ArrayList<>(Math.min(k, scores.size()));
+        for (Map.Entry<Integer, TreeSet<Long>> bucket : buckets.entrySet()) {
+            int rank = rankOfScore(bucket.getKey());
+            for (Long userId : bucket.getValue()) {
+                if (result.size() >= k) {
+                    return result;
+                }
+                result.add(new Entry(userId, bucket.getKey(), rank));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 사용자 앞뒤 n 명씩 (본인 포함, 순위 순)
+     */
+    List<Entry> neighbors(long userId, int n) {
+        Integer score = scores.get(userId);
+        if (score == null) {
+            return List.of();
+        }
+
+        List<Entry> before = new ArrayList<>(n);
+        collect(buckets.get(score).headSet(userId, false).descendingIterator(), score, before, n);
+        for (Map.Entry<Integer, TreeSet<Long>> bucket = buckets.lowerEntry(score);
+             bucket != null && before.size() < n; bucket = buckets.lowerEntry(bucket.getKey())) {
+            collect(bucket.getValue().descendingIterator(), bucket.getKey(), before, n);
+        }
+        Collections.reverse(before);
+
+        List<Entry> result = new ArrayList<>(before.size() + n + 1);
+        result.addAll(before);
+        result.add(new Entry(userId, score, rankOfScore(score)));
+
+        List<Entry> after = new ArrayList<>(n);
+        collect(buckets.get(score).tailSet(userId, false).iterator(), score, after, n);
+        for (Map.Entry<Integer, TreeSet<Long>> bucket = buckets.higherEntry(score);
+             bucket != null && after.size() < n; bucket = buckets.higherEntry(bucket.getKey())) {
+            collect(bucket.getValue().iterator(), bucket.getKey(), after, n);
+        }
+        result.addAll(after);
+        return result;
+    }
+
+    private void collect(Iterator<Long> userIds, int score, List<Entry> out, int limit) {
+        int rank = rankOfScore(score);
+        while (userIds.hasNext() && out.size() < limit) {
+            out.add(new Entry(userIds.next(), score, rank));
+        }
+    }
+
+    /**
+     * 점수가 더 낮은 사용자 수 + 1
+     */
+    private int rankOfScore(int score) {
+        return prefixCount(score - 1) + 1;
+    }
+
+    private void update(int score, int delta) {
+        for (int i = score + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * 점수가 0 ~ score 인 사용자 수
+     */
+    private int prefixCount(int score) {
+        int count = 0;
+        for (int i = Math.min(score, maxScore) + 1; i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    record Entry(long userId, int score, int rank) {
+    }
+}
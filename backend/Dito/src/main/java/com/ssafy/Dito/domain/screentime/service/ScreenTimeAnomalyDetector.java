@@ -0,0 +1,173 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import com.ssafy.Dito.domain.screentime.document.AnomalyType;
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeAnomaly;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스크린타임 업로드 이상 감지기 (업로드 시점 inline 검사)
+ * - 사용자별 마지막으로 수용한 값(날짜, 총/YouTube 분, 수신 시각)만 메모리에 보관
+ * - 날짜가 바뀌면 이틀 이상 지난 상태는 제거
+ * - 감지 결과는 screen_time_anomalies 에 기록하고 유형별 카운터로 노출 (업로드 자체는 막지 않음)
+ * - 정상 경로에서는 상태 객체를 갱신만 하므로 추가 할당 없음
+ * - 날짜 경과 시간은 서버 시간대가 아닌 서비스 시간대(ScreenTimeZone) 기준,
+ *   클라이언트 시간대 / 시계 차이는 zone-tolerance-minutes 만큼 허용
+ */
+@Slf4j
+@Component
+public class ScreenTimeAnomalyDetector {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final MongoTemplate mongoTemplate;
+    private final int toleranceMinutes;
+    private final ZoneId zone;
+    private final Duration zoneTolerance;
+    private final Map<Long, UserState> states = new ConcurrentHashMap<>();
+    private final Map<AnomalyType, Counter> counters = new EnumMap<>(AnomalyType.class);
+    private volatile long currentEpochDay;
+
+    public ScreenTimeAnomalyDetector(
+        MongoTemplate mongoTemplate,
+        MeterRegistry meterRegistry,
+        ScreenTimeZone screenTimeZone,
+        @Value("${screentime.anomaly.tolerance-minutes:5}") int toleranceMinutes,
+        @Value("${screentime.anomaly.zone-tolerance-minutes:60}") long zoneToleranceMinutes
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.toleranceMinutes = toleranceMinutes;
+        this.zone = screenTimeZone.zone();
+        this.zoneTolerance = Duration.ofMinutes(zoneToleranceMinutes);
+        this.currentEpochDay = LocalDate.now(this.zone).toEpochDay();
+        for (AnomalyType type : AnomalyType.values()) {
+            counters.put(type, Counter.builder("screentime.anomaly")
+                .description("업로드 시점에 감지된 비정상 스크린타임 건수")
+                .tag("type", type.name())
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 업로드 값 검사
+     * 이상이 없으면 사용자 상태를 갱신하고, 이상이 있으면 기록만 하고 상태는 유지
+     *
+     * @return 감지된 이상 유형 비트마스크 (0 이면 정상)
+     */
+    public int inspect(Long userId, Long groupId, LocalDate date, int totalMinutes, int youtubeMinutes) {
+        long nowMillis = System.currentTimeMillis();
+        ZonedDateTime now = Instant.ofEpochMilli(nowMillis).atZone(zone);
+        long today = now.toLocalDate().toEpochDay();
+        long day = date.toEpochDay();
+        evictIfDayChanged(today);
+
+        int flags = 0;
+        if (youtubeMinutes > totalMinutes) {
+            flags |= AnomalyType.YOUTUBE_EXCEEDS_TOTAL.mask();
+        }
+
+        if (totalMinutes > elapsedDayMinutes(date, now) + toleranceMinutes) {
+            flags |= AnomalyType.EXCEEDS_ELAPSED_DAY.mask();
+        }
+
+        UserState state = states.computeIfAbsent(userId, id -> new UserState());
+        int previousTotal = -1;
+        int previousYoutube = -1;
+        synchronized (state) {
+            if (state.epochDay == day) {
+                previousTotal = state.totalMinutes;
+                previousYoutube = state.youtubeMinutes;
+
+                if (totalMinutes < state.totalMinutes || youtubeMinutes < state.youtubeMinutes) {
+                    flags |= AnomalyType.TOTAL_DECREASED.mask();
+                }
+                long elapsedMinutes = (nowMillis - state.acceptedAtMillis) / 60_000;
+                if (totalMinutes - state.totalMinutes > elapsedMinutes + toleranceMinutes) {
+                    flags |= AnomalyType.DELTA_EXCEEDS_ELAPSED.mask();
+                }
+            }
+
+            if (flags == 0 && day >= state.epochDay) {
+                state.epochDay = day;
+                state.totalMinutes = totalMinutes;
+                state.youtubeMinutes = youtubeMinutes;
+                state.acceptedAtMillis = nowMillis;
+            }
+        }
+
+        if (flags != 0) {
+            record(flags, userId, groupId, date, totalMinutes, youtubeMinutes, previousTotal, previousYoutube);
+        }
+        return flags;
+    }
+
+    /**
+     * 서비스 시간대 기준 date 자정부터 지금(+ 시간대 허용치)까지 경과한 분 (0 ~ 1440)
+     */
+    private int elapsedDayMinutes(LocalDate date, ZonedDateTime now) {
+        long elapsed = Duration.between(date.atStartOfDay(zone), now.plus(zoneTolerance)).toMinutes();
+        return (int) Math.max(0, Math.min(elapsed, MINUTES_PER_DAY));
+    }
+
+    private void record(int flags, Long userId, Long groupId, LocalDate date, int totalMinutes,
+        int youtubeMinutes, int previousTotal, int previousYoutube) {
+        Instant detectedAt = Instant.now();
+        for (AnomalyType type : AnomalyType.values()) {
+            if ((flags & type.mask()) == 0) {
+                continue;
+            }
+            counters.get(type).increment();
+            log.warn("⚠️ 스크린타임 이상 감지 - type: {}, userId: {}, date: {}, totalMinutes: {}, youtubeMinutes: {}, previous: {}/{}",
+                type, userId, date, totalMinutes, youtubeMinutes, previousTotal, previousYoutube);
+            try {
+                mongoTemplate.insert(ScreenTimeAnomaly.builder()
+                    .userId(userId)
+                    .groupId(groupId)
+                    .date(date)
+                    .type(type)
+                    .totalMinutes(totalMinutes)
+                    .youtubeMinutes(youtubeMinutes)
+                    .previousTotalMinutes(previousTotal >= 0 ? previousTotal : null)
+                    .previousYoutubeMinutes(previousYoutube >= 0 ? previousYoutube : null)
+                    .detectedAt(detectedAt)
+                    .build());
+            } catch (Exception e) {
+                log.error("스크린타임 이상 기록 저장 실패 - userId: {}, type: {}", userId, type, e);
+            }
+        }
+    }
+
+    /**
+     * 날짜가 바뀌면 전날보다 오래된 상태 제거 (하루 한 번)
+     */
+    private void evictIfDayChanged(long today) {
+        if (today == currentEpochDay) {
+            return;
+        }
+        currentEpochDay = today;
+        states.values().removeIf(state -> state.epochDay < today - 1);
+    }
+
+    /**
+     * 사용자별 마지막 수용 값 (제자리 갱신)
+     */
+    private static final class UserState {
+        private volatile long epochDay = Long.MIN_VALUE;
+        private int totalMinutes;
+        private int youtubeMinutes;
+        private long acceptedAtMillis;
+    }
+}
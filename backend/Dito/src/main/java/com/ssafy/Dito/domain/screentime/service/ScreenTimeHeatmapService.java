@@ -0,0 +1,74 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import com.ssafy.Dito.domain.groups.exception.GroupNotFoundException;
+import com.ssafy.Dito.domain.groups.repository.GroupChallengeRepository;
+import com.ssafy.Dito.domain.groups.repository.GroupParticipantRepository;
+import com.ssafy.Dito.domain.groups.service.GroupChallengeMetaCache;
+import com.ssafy.Dito.domain.screentime.dto.response.HeatmapRes;
+import com.ssafy.Dito.domain.screentime.exception.NotGroupParticipantException;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeHourlyUsageQueryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 요일 × 시간대 사용량 히트맵 서비스
+ * - 시간대별 rollup(screen_time_hourly_usage) 만 조회, Snapshot 은 읽지 않음
+ * - 그룹 히트맵은 참여자 셀 합계 (그룹 참여자만 조회 가능)
+ * - 조회 기간은 서비스 시간대(ScreenTimeZone) 기준 오늘까지
+ */
+@Service
+@RequiredArgsConstructor
+public class ScreenTimeHeatmapService {
+
+    private final ScreenTimeHourlyUsageQueryRepository hourlyUsageQueryRepository;
+    private final GroupChallengeMetaCache groupChallengeMetaCache;
+    private final GroupChallengeRepository groupChallengeRepository;
+    private final GroupParticipantRepository groupParticipantRepository;
+    private final ScreenTimeZone screenTimeZone;
+
+    /**
+     * 사용자 히트맵 (오늘 포함 최근 weeks 주)
+     */
+    public HeatmapRes getUserHeatmap(Long userId, int weeks) {
+        return heatmap(List.of(userId), weeks);
+    }
+
+    /**
+     * 그룹 참여자 합산 히트맵 (오늘 포함 최근 weeks 주)
+     *
+     * @throws NotGroupParticipantException 요청 사용자가 그룹 참여자가 아닌 경우
+     */
+    @Transactional(readOnly = true)
+    public HeatmapRes getGroupHeatmap(Long groupId, Long currentUserId, int weeks) {
+        if (!groupChallengeMetaCache.exists(groupId)) {
+            throw new GroupNotFoundException();
+        }
+        List<Long> participantIds = groupParticipantRepository
+            .findAllByIdGroup(groupChallengeRepository.getReferenceById(groupId)).stream()
+            .map(participant -> participant.getId().getUser().getId())
+            .toList();
+        if (!participantIds.contains(currentUserId)) {
+            throw new NotGroupParticipantException();
+        }
+        return heatmap(participantIds, weeks);
+    }
+
+    private HeatmapRes heatmap(Collection<Long> userIds, int weeks) {
+        LocalDate endDate = screenTimeZone.today();
+        LocalDate startDate = endDate.minusWeeks(weeks).plusDays(1);
+        if (userIds.isEmpty()) {
+            return HeatmapRes.of(startDate, endDate, 0, List.of());
+        }
+
+        List<HeatmapRes.Cell> cells = hourlyUsageQueryRepository
+            .sumByDayOfWeekAndHour(userIds, startDate, endDate).stream()
+            .map(cell -> HeatmapRes.Cell.of(cell.dayOfWeek(), cell.hour(), cell.totalMinutes(), cell.youtubeMinutes()))
+            .toList();
+        return HeatmapRes.of(startDate, endDate, userIds.size(), cells);
+    }
+}
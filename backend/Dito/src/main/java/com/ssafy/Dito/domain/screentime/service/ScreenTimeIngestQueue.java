@@ -0,0 +1,221 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import com.ssafy.Dito.domain.groups.exception.GroupNotFoundException;
+import com.ssafy.Dito.domain.groups.service.GroupChallengeMetaCache;
+import com.ssafy.Dito.domain.screentime.dto.request.ScreenTimeUpdateReq;
+import com.ssafy.Dito.domain.screentime.dto.response.ScreenTimeUpdateRes;
+import com.ssafy.Dito.domain.screentime.exception.IngestQueueFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 비동기 스크린타임 갱신 큐 (screentime.async-ingest.enabled=true 일 때만 활성화)
+ * - 요청 스레드는 검증 후 큐에 넣고 바로 202 응답
+ * - userId 기준으로 파티션을 나눠 파티션마다 워커 1개 → 사용자별 처리 순서 보장
+ * - 워커는 큐를 한 번에 비우며 같은 사용자·날짜의 연속 요청을 최대값으로 병합 후 처리
+ * - 파티션 큐가 가득 차면 IngestQueueFullException (429) 으로 부하 차단
+ * - 병합으로 따로 처리되지 않은 요청의 requestId 도 처리 완료로 기록
+ * - 종료 시 워커를 인터럽트하지 않고 중지 플래그만 세움 → 남은 요청을 모두 처리한 뒤 종료 (join 제한 시간)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "screentime.async-ingest.enabled", havingValue = "true")
+public class ScreenTimeIngestQueue {
+
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+
+    private final ScreenTimeService screenTimeService;
+    private final GroupChallengeMetaCache groupChallengeMetaCache;
+    private final List<BlockingQueue<IngestTask>> partitions;
+    private final List<Thread> workers;
+    private final int drainSize;
+    private final long shutdownTimeoutMillis;
+    private volatile boolean running = true;
+
+    private final Counter acceptedCounter;
+    private final Counter rejectedCounter;
+    private final Counter coalescedCounter;
+
+    public ScreenTimeIngestQueue(
+        ScreenTimeService screenTimeService,
+        GroupChallengeMetaCache groupChallengeMetaCache,
+        MeterRegistry meterRegistry,
+        @Value("${screentime.async-ingest.partitions:4}") int partitionCount,
+        @Value("${screentime.async-ingest.partition-capacity:2000}") int partitionCapacity,
+        @Value("${screentime.async-ingest.drain-size:200}") int drainSize,
+        @Value("${screentime.async-ingest.shutdown-timeout-seconds:10}") long shutdownTimeoutSeconds
+    ) {
+        this.screenTimeService = screenTimeService;
+        this.groupChallengeMetaCache = groupChallengeMetaCache;
+        this.drainSize = drainSize;
+        this.shutdownTimeoutMillis = TimeUnit.SECONDS.toMillis(shutdownTimeoutSeconds);
+        this.partitions = new ArrayList<>(partitionCount);
+        this.workers = new ArrayList<>(partitionCount);
+
+        for (int i = 0; i < partitionCount; i++) {
+            BlockingQueue<IngestTask> queue = new ArrayBlockingQueue<>(partitionCapacity);
+            partitions.add(queue);
+            workers.add(new Thread(() -> drainLoop(queue), "screen-time-ingest-" + i));
+        }
+
+        Gauge.builder("screentime.ingest.queue.depth", partitions,
+                queues -> queues.stream().mapToInt(BlockingQueue::size).sum())
+            .description("비동기 스크린타임 갱신 대기 건수")
+            .register(meterRegistry);
+        this.acceptedCounter = Counter.builder("screentime.ingest.queue.accepted")
+            .description("큐에 접수된 요청 수")
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("screentime.ingest.queue.rejected")
+            .description("큐가 가득 차 429 로 거절된 요청 수")
+            .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("screentime.ingest.queue.coalesced")
+            .description("같은 사용자·날짜 연속 요청으로 병합된 요청 수")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        workers.forEach(Thread::start);
+    }
+
+    /**
+     * 요청 검증 후 사용자 파티션에 적재
+     *
+     * @throws GroupNotFoundException   groupId 가 존재하지 않는 그룹인 경우
+     * @throws IngestQueueFullException 파티션 큐가 가득 찬 경우
+     */
+    public void enqueue(ScreenTimeUpdateReq request, Long userId) {
+        if (request.groupId() != null && !groupChallengeMetaCache.exists(request.groupId())) {
+            throw new GroupNotFoundException();
+        }
+
+        BlockingQueue<IngestTask> queue = partitions.get(Math.floorMod(userId.hashCode(), partitions.size()));
+        if (!running || !queue.offer(new IngestTask(userId, request))) {
+            rejectedCounter.increment();
+            throw new IngestQueueFullException();
+        }
+        acceptedCounter.increment();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // 인터럽트하면 처리 중인 Mongo / JPA 호출이 중단될 수 있으므로 플래그만 세우고 대기
+        running = false;
+        long deadline = System.currentTimeMillis() + shutdownTimeoutMillis;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        int remaining = partitions.stream().mapToInt(BlockingQueue::size).sum();
+        if (remaining > 0) {
+            log.warn("비동기 스크린타임 갱신 큐 종료 제한 시간 초과 - 미처리: {}", remaining);
+        }
+        log.info("비동기 스크린타임 갱신 큐 종료");
+    }
+
+    private void drainLoop(BlockingQueue<IngestTask> queue) {
+        List<IngestTask> batch = new ArrayList<>(drainSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                // 중지 플래그를 주기적으로 확인하도록 제한 시간 대기
+                IngestTask first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, drainSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 같은 사용자·날짜의 연속 요청은 최대값으로 병합해 한 번만 처리
+     */
+    private void process(List<IngestTask> batch) {
+        IngestTask pending = null;
+        for (IngestTask task : batch) {
+            if (pending != null && pending.sameUserDay(task)) {
+                pending = pending.mergeWith(task);
+                coalescedCounter.increment();
+                continue;
+            }
+            apply(pending);
+            pending = task;
+        }
+        apply(pending);
+    }
+
+    private void apply(IngestTask task) {
+        if (task == null) {
+            return;
+        }
+        try {
+            ScreenTimeUpdateRes response = screenTimeService.updateScreenTime(task.request(), task.userId());
+            if (task.originals().size() > 1) {
+                screenTimeService.recordMergedRequests(task.originals(), task.userId(), response);
+            }
+        } catch (Exception e) {
+            log.error("비동기 스크린타임 갱신 실패 - userId: {}, date: {}", task.userId(), task.request().date(), e);
+        }
+    }
+
+    /**
+     * @param request   처리할 요청 (병합된 경우 requestId 없는 최대값 요청)
+     * @param originals 병합된 원본 요청 (requestId / payload 해시 처리 완료 기록용)
+     */
+    private record IngestTask(Long userId, ScreenTimeUpdateReq request, List<ScreenTimeUpdateReq> originals) {
+
+        IngestTask(Long userId, ScreenTimeUpdateReq request) {
+            this(userId, request, List.of(request));
+        }
+
+        boolean sameUserDay(IngestTask other) {
+            return userId.equals(other.userId) && request.date().equals(other.request.date());
+        }
+
+        /**
+         * 필드별 최대값 병합 (저장도 $max 시맨틱이므로 결과 동일)
+         * 병합 요청은 requestId 없이 처리하고, 원본 요청은 각자의 payload 로 처리 완료 기록
+         * (병합 값으로 선점하면 같은 requestId 재시도가 payload 불일치로 거절됨)
+         */
+        IngestTask mergeWith(IngestTask later) {
+            ScreenTimeUpdateReq next = later.request;
+            int youtube = Math.max(
+                Objects.requireNonNullElse(request.youtubeMinutes(), 0),
+                Objects.requireNonNullElse(next.youtubeMinutes(), 0));
+            List<ScreenTimeUpdateReq> mergedOriginals = new ArrayList<>(originals);
+            mergedOriginals.addAll(later.originals);
+            return new IngestTask(userId, new ScreenTimeUpdateReq(
+                next.groupId() != null ? next.groupId() : request.groupId(),
+                next.date(),
+                Math.max(request.totalMinutes(), next.totalMinutes()),
+                youtube,
+                null
+            ), mergedOriginals);
+        }
+    }
+}
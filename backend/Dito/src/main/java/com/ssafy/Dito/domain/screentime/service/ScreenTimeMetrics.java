@@ -0,0 +1,174 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스크린타임 지표 (Micrometer → Actuator / Prometheus)
+ * - 태그는 고정된 값만 사용 (userId / groupId 등 고카디널리티 값은 태그로 쓰지 않음)
+ * - 갱신 / 랭킹 지연 시간은 히스토그램으로 기록 (p50 / p95 / p99 는 Prometheus 에서 계산)
+ * - 요청당 Mongo 명령 / Postgres 쿼리 수는 StoreCallCounter 로 세고 인터셉터에서 기록
+ */
+@Component
+public class ScreenTimeMetrics {
+
+    public static final String MODE_SINGLE = "single";
+    public static final String MODE_BATCH = "batch";
+    public static final String RANKING_LIVE = "live";
+    public static final String RANKING_AT = "at";
+    public static final String RANKING_BATCH = "batch";
+    public static final String CACHE_COSTUME = "costume";
+    public static final String CACHE_PRESENCE = "presence";
+
+    private static final List<String> STATUSES =
+        List.of("created", "updated", "unchanged", "duplicate", "group_not_found");
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> ingestTimers;
+    private final Map<String, Timer> rankingTimers;
+    private final Map<String, Counter> statusCounters;
+    private final DistributionSummary batchEntries;
+    private final Timer reconcileChunkTimer;
+    private final Map<String, Counter> cacheCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> reconcileCounters = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> storeCallSummaries = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> payloadSummaries = new ConcurrentHashMap<>();
+
+    public ScreenTimeMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.ingestTimers = Map.of(
+            MODE_SINGLE, latencyTimer("screentime.ingest.latency", "mode", MODE_SINGLE, "스크린타임 갱신 처리 시간"),
+            MODE_BATCH, latencyTimer("screentime.ingest.latency", "mode", MODE_BATCH, "스크린타임 갱신 처리 시간")
+        );
+        this.rankingTimers = Map.of(
+            RANKING_LIVE, latencyTimer("screentime.ranking.latency", "kind", RANKING_LIVE, "그룹 랭킹 계산 시간"),
+            RANKING_AT, latencyTimer("screentime.ranking.latency", "kind", RANKING_AT, "그룹 랭킹 계산 시간"),
+            RANKING_BATCH, latencyTimer("screentime.ranking.latency", "kind", RANKING_BATCH, "그룹 랭킹 계산 시간")
+        );
+        Map<String, Counter> counters = new ConcurrentHashMap<>();
+        for (String status : STATUSES) {
+            counters.put(status, Counter.builder("screentime.ingest.entries")
+                .description("스크린타임 갱신 항목 처리 결과")
+                .tag("status", status)
+                .register(meterRegistry));
+        }
+        this.statusCounters = counters;
+        this.batchEntries = DistributionSummary.builder("screentime.ingest.batch.entries")
+            .description("일괄 갱신 요청당 항목 수")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.reconcileChunkTimer = Timer.builder("screentime.reconcile.chunk.latency")
+            .description("정합성 검사 구간 처리 시간")
+            .register(meterRegistry);
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void recordIngest(Timer.Sample sample, String mode) {
+        sample.stop(ingestTimers.get(mode));
+    }
+
+    public void recordRanking(Timer.Sample sample, String kind) {
+        sample.stop(rankingTimers.get(kind));
+    }
+
+    /**
+     * 갱신 결과 (created / updated / unchanged / duplicate / group_not_found)
+     */
+    public void recordStatus(String status) {
+        Counter counter = statusCounters.get(status);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    public void recordBatchSize(int entries) {
+        batchEntries.record(entries);
+    }
+
+    public void recordCache(String cache, int hits, int misses) {
+        if (hits > 0) {
+            cacheCounter(cache, "hit").increment(hits);
+        }
+        if (misses > 0) {
+            cacheCounter(cache, "miss").increment(misses);
+        }
+    }
+
+    /**
+     * 요청 하나에서 발생한 저장소 호출 수
+     *
+     * @param endpoint 매핑 패턴 (예: GET /challenges/groups/{group_id}/ranking)
+     */
+    public void recordStoreCalls(String endpoint, int mongoCommands, int postgresStatements) {
+        storeCallSummary(endpoint, "mongo").record(mongoCommands);
+        storeCallSummary(endpoint, "postgres").record(postgresStatements);
+    }
+
+    public void recordPayload(String endpoint, long bytes) {
+        payloadSummaries.computeIfAbsent(endpoint, key -> DistributionSummary.builder("screentime.request.payload")
+            .description("요청 본문 크기")
+            .baseUnit("bytes")
+            .tag("endpoint", key)
+            .register(meterRegistry)).record(bytes);
+    }
+
+    /**
+     * 정합성 검사 구간 하나의 처리 결과
+     *
+     * @param partitions 검사한 (사용자, 날짜) 수
+     * @param repaired Snapshot 기준으로 일별 사용량을 복구한 수
+     * @param unverified Snapshot 이 없어 검증하지 못한 일별 사용량 수
+     */
+    public void recordReconcile(Timer.Sample sample, int partitions, int repaired, int unverified) {
+        sample.stop(reconcileChunkTimer);
+        reconcileCounter("checked").increment(partitions);
+        if (repaired > 0) {
+            reconcileCounter("repaired").increment(repaired);
+        }
+        if (unverified > 0) {
+            reconcileCounter("unverified").increment(unverified);
+        }
+    }
+
+    private Counter cacheCounter(String cache, String result) {
+        return cacheCounters.computeIfAbsent(cache + ":" + result, key -> Counter.builder("screentime.cache.requests")
+            .description("메모리 캐시 조회 결과")
+            .tag("cache", cache)
+            .tag("result", result)
+            .register(meterRegistry));
+    }
+
+    private Counter reconcileCounter(String result) {
+        return reconcileCounters.computeIfAbsent(result, key -> Counter.builder("screentime.reconcile.partitions")
+            .description("정합성 검사 (사용자, 날짜) 처리 결과")
+            .tag("result", key)
+            .register(meterRegistry));
+    }
+
+    private DistributionSummary storeCallSummary(String endpoint, String store) {
+        return storeCallSummaries.computeIfAbsent(endpoint + " " + store,
+            key -> DistributionSummary.builder("screentime.request.store.calls")
+                .description("요청당 저장소 호출 수")
+                .tag("endpoint", endpoint)
+                .tag("store", store)
+                .register(meterRegistry));
+    }
+
+    private Timer latencyTimer(String name, String tagKey, String tagValue, String description) {
+        return Timer.builder(name)
+            .description(description)
+            .tag(tagKey, tagValue)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+}
@@ -1,106 +1,250 @@
 package com.ssafy.Dito.domain.screentime.service;
 
-import com.ssafy.Dito.domain._common.CostumeUrlUtil;
-import com.ssafy.Dito.domain.groups.entity.GroupChallenge;
+import com.ssafy.Dito.domain.groups.dto.GroupChallengeMeta;
 import com.ssafy.Dito.domain.groups.entity.GroupParticipant;
 import com.ssafy.Dito.domain.groups.exception.GroupNotFoundException;
 import com.ssafy.Dito.domain.groups.repository.GroupChallengeRepository;
+import com.ssafy.Dito.domain.groups.repository.GroupParticipantRankingQueryRepository;
 import com.ssafy.Dito.domain.groups.repository.GroupParticipantRepository;
-import com.ssafy.Dito.domain.item.entity.Type;
-import com.ssafy.Dito.domain.screentime.document.CurrentAppUsage;
-import com.ssafy.Dito.domain.screentime.document.ScreenTimeDailySummary;
+import com.ssafy.Dito.domain.groups.service.GroupChallengeMetaCache;
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeChallengeTotal;
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeDailyUsage;
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeIngestRequest;
 import com.ssafy.Dito.domain.screentime.document.ScreenTimeSnapshot;
+import com.ssafy.Dito.domain.screentime.dto.request.ScreenTimeBatchUpdateReq;
 import com.ssafy.Dito.domain.screentime.dto.request.ScreenTimeUpdateReq;
 import com.ssafy.Dito.domain.screentime.dto.request.UpdateCurrentAppReq;
 import com.ssafy.Dito.domain.screentime.dto.response.GroupRankingRes;
+import com.ssafy.Dito.domain.screentime.dto.response.RankingStreamEvent;
+import com.ssafy.Dito.domain.screentime.dto.response.ScreenTimeBatchUpdateRes;
 import com.ssafy.Dito.domain.screentime.dto.response.ScreenTimeUpdateRes;
-import com.ssafy.Dito.domain.screentime.repository.CurrentAppUsageRepository;
-import com.ssafy.Dito.domain.screentime.repository.ScreenTimeDailySummaryRepository;
+import com.ssafy.Dito.domain.screentime.exception.IdempotencyKeyConflictException;
+import com.ssafy.Dito.domain.screentime.job.ScreenTimeChallengeTotalRebuildJob;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeChallengeTotalQueryRepository;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeChallengeTotalQueryRepository.UsageDelta;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeDailyUsageQueryRepository;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeHourlyUsageQueryRepository;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeIngestRequestRepository;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeSnapshotArchive;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeSnapshotArchive.ArchivedSnapshot;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeSnapshotQueryRepository;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeSnapshotQueryRepository.UsageAsOf;
 import com.ssafy.Dito.domain.screentime.repository.ScreenTimeSnapshotRepository;
-import com.ssafy.Dito.domain.user.userItem.entity.UserItem;
-import com.ssafy.Dito.domain.user.userItem.repository.UserItemQueryRepository;
+import com.ssafy.Dito.domain.screentime.service.EquippedCostumeCache.EquippedCostume;
+import com.ssafy.Dito.domain.screentime.service.PresenceRegistry.Presence;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * 스크린타임 관리 서비스
- * - 하이브리드 방식: Summary (빠른 조회) + Snapshot (검증/분석)
+ * - 하이브리드 방식: 사용자 단위 일별 사용량 (빠른 조회) + Snapshot (검증/분석)
+ * - 그룹 랭킹은 그룹 × 사용자 챌린지 누적값(일별 사용량 변화분으로 갱신)을 조회
  * - 앱에서 5분마다 스크린타임 갱신
  * - 그룹별 랭킹 조회 최적화
  * - 실시간 현재 사용 중인 앱 정보 관리
+ * - 특정 시각 기준 랭킹 재구성 (Snapshot / 아카이브)
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ScreenTimeService {
 
-    private final ScreenTimeDailySummaryRepository summaryRepository;
+    private final ScreenTimeDailyUsageQueryRepository usageQueryRepository;
+    private final ScreenTimeChallengeTotalQueryRepository challengeTotalQueryRepository;
+    private final ScreenTimeChallengeTotalRebuildJob challengeTotalRebuildJob;
+    private final ScreenTimeHourlyUsageQueryRepository hourlyUsageQueryRepository;
     private final ScreenTimeSnapshotRepository snapshotRepository;
-    private final CurrentAppUsageRepository currentAppUsageRepository;
+    private final ScreenTimeSnapshotQueryRepository snapshotQueryRepository;
+    private final ScreenTimeSnapshotArchive snapshotArchive;
+    private final ScreenTimeSnapshotBuffer snapshotBuffer;
+    private final ScreenTimeIngestRequestRepository ingestRequestRepository;
+    private final ScreenTimeAnomalyDetector anomalyDetector;
+    private final ScreenTimeZone screenTimeZone;
+    private final WeeklyLeaderboard weeklyLeaderboard;
+    private final GroupRankingVersions rankingVersions;
+    private final PresenceRegistry presenceRegistry;
+    private final AppTimelineRecorder appTimelineRecorder;
     private final GroupChallengeRepository groupChallengeRepository;
+    private final GroupChallengeMetaCache groupChallengeMetaCache;
     private final GroupParticipantRepository groupParticipantRepository;
-    private final UserItemQueryRepository  userItemQueryRepository;
-    private final CostumeUrlUtil costumeUrlUtil;
+    private final GroupParticipantRankingQueryRepository groupParticipantRankingQueryRepository;
+    private final EquippedCostumeCache equippedCostumeCache;
+    private final ScreenTimeMetrics metrics;
     private static final int MAX_PARTICIPANTS = 6;
 
-    // 메모리 캐시 사용 안 함
-    // private final Map<Long, CurrentAppInfo> currentAppCache = new ConcurrentHashMap<>();
+    /**
+     * 랭킹 정렬 순서 (YouTube → 총 스크린타임 → userId), 모든 랭킹 경로에서 공통 사용
+     */
+    private static final Comparator<Map.Entry<Long, RankingData>> RANKING_ORDER =
+        Map.Entry.<Long, RankingData>comparingByValue().thenComparing(Map.Entry.comparingByKey());
 
     /**
      * 스크린타임 갱신 (5분마다 호출)
-     * - Summary: upsert (기존 데이터 갱신 또는 신규 생성)
-     * - Snapshot: insert (항상 새로운 기록 생성)
+     * - 사용자 단위 일별 사용량: 원자적 upsert (기존 값보다 클 때만 갱신, 왕복 1회)
+     *   참여 그룹 수와 관계없이 한 번만 저장
+     * - 챌린지 누적값: 일별 사용량이 커진 만큼 기간에 해당하는 그룹 누적값에 $inc
+     * - Snapshot: insert (항상 새로운 기록 생성, write-behind 버퍼로 비동기 일괄 저장)
+     * - requestId 가 있으면 처리 전에 선점 → 재시도 요청은 저장 없이 최초 응답 반환
+     *   (같은 requestId 로 다른 값을 보내면 409)
      */
     @Transactional
     public ScreenTimeUpdateRes updateScreenTime(ScreenTimeUpdateReq request, Long userId) {
-        log.info("💾 스크린타임 저장 요청 - groupId: {}, userId: {}, date: {}, totalMinutes: {}, youtubeMinutes: {}",
+        Timer.Sample sample = metrics.start();
+        // 업로드 주기 = 사용 중 신호 → 앱 전환 없이 한 앱에 머물러도 presence / 열린 구간이 만료되지 않음
+        presenceRegistry.touch(userId);
+        appTimelineRecorder.touch(userId);
+        try {
+            ScreenTimeUpdateRes response = updateScreenTimeOnce(request, userId);
+            metrics.recordStatus(response.status());
+            return response;
+        } finally {
+            metrics.recordIngest(sample, ScreenTimeMetrics.MODE_SINGLE);
+        }
+    }
+
+    private ScreenTimeUpdateRes updateScreenTimeOnce(ScreenTimeUpdateReq request, Long userId) {
+        if (request.requestId() == null) {
+            return applyScreenTime(request, userId);
+        }
+
+        ScreenTimeIngestRequest claim = ScreenTimeIngestRequest.claim(userId, request);
+        try {
+            ingestRequestRepository.insert(claim);
+        } catch (DuplicateKeyException e) {
+            return replay(request, userId);
+        }
+
+        try {
+            ScreenTimeUpdateRes response = applyScreenTime(request, userId);
+            claim.complete(response);
+            ingestRequestRepository.save(claim);
+            return response;
+        } catch (RuntimeException e) {
+            // 처리 실패 시 선점 해제 → 같은 requestId 로 재시도 가능
+            ingestRequestRepository.delete(claim);
+            throw e;
+        }
+    }
+
+    /**
+     * 비동기 큐에서 다른 요청에 병합된 requestId 를 처리 완료로 기록
+     * - 병합 결과 응답을 저장 → 해당 requestId 재시도 시 다시 적용하지 않고 병합 결과 반환
+     * - payload 해시는 원본 요청 기준 (같은 값 재시도가 409 로 거절되지 않도록)
+     * - 이미 기록된 requestId 는 건너뜀
+     */
+    public void recordMergedRequests(List<ScreenTimeUpdateReq> merged, Long userId, ScreenTimeUpdateRes response) {
+        for (ScreenTimeUpdateReq request : merged) {
+            if (request.requestId() == null) {
+                continue;
+            }
+            ScreenTimeIngestRequest claim = ScreenTimeIngestRequest.claim(userId, request);
+            claim.complete(response);
+            try {
+                ingestRequestRepository.insert(claim);
+            } catch (DuplicateKeyException e) {
+                log.debug("병합된 requestId 이미 기록됨 - userId: {}, requestId: {}", userId, request.requestId());
+            }
+        }
+    }
+
+    /**
+     * 이미 처리된(또는 처리 중인) requestId 재전송
+     * Summary / Snapshot 을 건드리지 않고 최초 응답 반환
+     *
+     * @throws IdempotencyKeyConflictException 같은 requestId 로 다른 값을 보낸 경우
+     */
+    private ScreenTimeUpdateRes replay(ScreenTimeUpdateReq request, Long userId) {
+        ScreenTimeIngestRequest existing = ingestRequestRepository
+            .findById(ScreenTimeIngestRequest.key(userId, request.requestId()))
+            .orElse(null);
+
+        if (existing != null && !existing.matchesPayload(request)) {
+            log.warn("⚠️ requestId 재사용 (payload 불일치) - userId: {}, requestId: {}", userId, request.requestId());
+            throw new IdempotencyKeyConflictException();
+        }
+
+        if (existing != null && existing.isCompleted()) {
+            log.info("🔁 중복 스크린타임 요청 - userId: {}, requestId: {} → 최초 응답 반환", userId, request.requestId());
+            return existing.toResponse(userId);
+        }
+
+        // 최초 요청이 아직 처리 중 → 요청 값 그대로 duplicate 로 응답
+        log.info("🔁 처리 중인 스크린타임 요청 재전송 - userId: {}, requestId: {}", userId, request.requestId());
+        return ScreenTimeUpdateRes.of(request.groupId(), userId, request.date(),
+            request.totalMinutes(), request.youtubeMinutes(), "duplicate");
+    }
+
+    private ScreenTimeUpdateRes applyScreenTime(ScreenTimeUpdateReq request, Long userId) {
+        log.debug("💾 스크린타임 저장 요청 - groupId: {}, userId: {}, date: {}, totalMinutes: {}, youtubeMinutes: {}",
             request.groupId(), userId, request.date(), request.totalMinutes(),
             request.youtubeMinutes());
 
-        // 그룹 존재 여부 확인
-        GroupChallenge group = groupChallengeRepository.findById(request.groupId())
-            .orElseThrow(GroupNotFoundException::new);
+        // 그룹 존재 여부 확인 (구버전 클라이언트 호환 - groupId 를 보낸 경우만)
+        if (request.groupId() != null && !groupChallengeMetaCache.exists(request.groupId())) {
+            throw new GroupNotFoundException();
+        }
 
-        // 1. Summary 갱신 (upsert)
-        ScreenTimeDailySummary summary = summaryRepository
-            .findByGroupIdAndUserIdAndDate(request.groupId(), userId, request.date().toString())
-            .orElse(null);
+        // 1. 일별 사용량 갱신 (단일 findAndModify upsert, $max 시맨틱)
+        int totalMinutes = request.totalMinutes();
+        int youtubeMinutes = request.youtubeMinutes() != null ? request.youtubeMinutes() : 0;
+
+        // 이상 감지 (기록만, 저장은 $max 시맨틱으로 계속 진행)
+        anomalyDetector.inspect(userId, request.groupId(), request.date(), totalMinutes, youtubeMinutes);
 
-        log.info("  기존 Summary 조회 결과: {}", summary != null ? "존재" : "없음");
+        ScreenTimeDailyUsage previous = usageQueryRepository.upsertMax(
+            userId, request.date(), totalMinutes, youtubeMinutes);
 
         String status;
-        if (summary == null) {
-            // 신규 생성
-            summary = ScreenTimeDailySummary.create(
-                request.groupId(),
-                userId,
-                request.date(),
-                request.totalMinutes(),
-                request.youtubeMinutes()
-            );
+        int previousTotal = 0;
+        int previousYoutube = 0;
+        if (previous == null) {
             status = "created";
         } else {
-            // 기존 데이터 갱신
-            summary.updateScreenTime(request.totalMinutes(), request.youtubeMinutes());
-            status = "updated";
+            previousTotal = previous.getTotalMinutes() != null ? previous.getTotalMinutes() : 0;
+            previousYoutube = previous.getYoutubeMinutes() != null ? previous.getYoutubeMinutes() : 0;
+
+            // 늦게 도착한(오래된) 업로드는 값을 낮추지 않음 → 저장된 값 기준으로 응답
+            status = (totalMinutes > previousTotal || youtubeMinutes > previousYoutube) ? "updated" : "unchanged";
+            totalMinutes = Math.max(totalMinutes, previousTotal);
+            youtubeMinutes = Math.max(youtubeMinutes, previousYoutube);
         }
-        ScreenTimeDailySummary saved = summaryRepository.save(summary);
 
-        log.info("  ✅ Summary 저장 완료 - id: {}, groupId: {}, userId: {}, date: {}, totalMinutes: {}, youtubeMinutes: {}",
-            saved.getId(), saved.getGroupId(), saved.getUserId(), saved.getDate(), saved.getTotalMinutes(), saved.getYoutubeMinutes());
+        log.debug("  ✅ 일별 사용량 upsert 완료 - userId: {}, date: {}, totalMinutes: {}, youtubeMinutes: {}, status: {}",
+            userId, request.date(), totalMinutes, youtubeMinutes, status);
+
+        // 2. 챌린지 누적값에 변화분 반영 (값이 커진 만큼만 $inc)
+        challengeTotalQueryRepository.applyDelta(userId, request.date(),
+            totalMinutes - previousTotal, youtubeMinutes - previousYoutube);
+        weeklyLeaderboard.record(userId, request.date(), youtubeMinutes - previousYoutube);
+        recordHourly(userId, request.date(), previous != null ? previous.getLastUpdatedAt() : null,
+            totalMinutes - previousTotal, youtubeMinutes - previousYoutube);
+        if (!"unchanged".equals(status)) {
+            rankingVersions.bumpUser(userId);
+        }
 
-        // 2. Snapshot 생성 (항상 INSERT)
+        // 3. Snapshot 생성 (write-behind 버퍼 → insertMany 로 지연 저장)
         ScreenTimeSnapshot snapshot = ScreenTimeSnapshot.create(
             request.groupId(),
             userId,
@@ -108,52 +252,224 @@ public class ScreenTimeService {
             request.totalMinutes(),
             request.youtubeMinutes()
         );
-        snapshotRepository.save(snapshot);
+        snapshotBuffer.add(snapshot);
 
-        log.info("스크린타임 갱신 완료 - userId: {}, groupId: {}, date: {}, totalMinutes: {}, youtubeMinutes: {}, status: {}",
+        log.debug("스크린타임 갱신 완료 - userId: {}, groupId: {}, date: {}, totalMinutes: {}, youtubeMinutes: {}, status: {}",
             userId, request.groupId(), request.date(), request.totalMinutes(), request.youtubeMinutes(), status);
 
         return ScreenTimeUpdateRes.of(
             request.groupId(),
             userId,
             request.date(),
-            request.totalMinutes(),
-            request.youtubeMinutes(),
+            totalMinutes,
+            youtubeMinutes,
             status
         );
     }
 
     /**
-     * 현재 사용 중인 앱 정보 갱신
-     * MongoDB current_app_usage 컬렉션에 저장 (upsert)
-     * 안드로이드 앱에서 포그라운드 앱이 변경될 때마다 호출
+     * 스크린타임 일괄 갱신 (오프라인 백로그 동기화)
+     * - 그룹 존재 여부는 한 번에 확인, 없는 그룹 항목은 group_not_found 로 응답
+     * - 같은 날짜 항목은 (그룹이 달라도) 최대값으로 병합 후 값이 커지는 날짜만 upsert
+     *   (날짜별 findAndModify - 갱신 직전 값으로 챌린지 누적값 변화분 계산)
+     * - Snapshot 은 날짜별 1건씩 insertMany 한 번으로 저장
      */
     @Transactional
-    public void updateCurrentApp(Long userId, UpdateCurrentAppReq request) {
-        log.info("📱 현재 앱 정보 갱신 - userId: {}, groupId: {}, appPackage: {}, appName: {}",
-            userId, request.groupId(), request.appPackage(), request.appName());
+    public ScreenTimeBatchUpdateRes batchUpdateScreenTime(ScreenTimeBatchUpdateReq request, Long userId) {
+        Timer.Sample sample = metrics.start();
+        try {
+            ScreenTimeBatchUpdateRes response = applyBatch(request, userId);
+            response.results().forEach(result -> metrics.recordStatus(result.status()));
+            return response;
+        } finally {
+            metrics.recordIngest(sample, ScreenTimeMetrics.MODE_BATCH);
+        }
+    }
 
-        // MongoDB에 저장 (upsert)
-        CurrentAppUsage existing = currentAppUsageRepository
-            .findByGroupIdAndUserId(request.groupId(), userId)
-            .orElse(null);
+    private ScreenTimeBatchUpdateRes applyBatch(ScreenTimeBatchUpdateReq request, Long userId) {
+        List<ScreenTimeUpdateReq> entries = request.entries();
+        log.debug("💾 스크린타임 일괄 저장 요청 - userId: {}, entries: {}", userId, entries.size());
+        metrics.recordBatchSize(entries.size());
+
+        // 1. 그룹 존재 여부 일괄 확인 (groupId 를 보낸 항목만)
+        Set<Long> requestedGroupIds = entries.stream()
+            .map(ScreenTimeUpdateReq::groupId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Set<Long> groupIds = requestedGroupIds.isEmpty() ? Set.of()
+            : groupChallengeMetaCache.getAll(requestedGroupIds).keySet();
+        Predicate<ScreenTimeUpdateReq> accepted =
+            entry -> entry.groupId() == null || groupIds.contains(entry.groupId());
+
+        // 2. 날짜별 최대값 병합
+        Map<LocalDate, ScreenTimeUpdateReq> merged = new LinkedHashMap<>();
+        for (ScreenTimeUpdateReq entry : entries) {
+            if (accepted.test(entry)) {
+                anomalyDetector.inspect(userId, entry.groupId(), entry.date(), entry.totalMinutes(),
+                    entry.youtubeMinutes() != null ? entry.youtubeMinutes() : 0);
+                merged.merge(entry.date(), entry, this::maxOf);
+            }
+        }
 
-        if (existing == null) {
-            // 신규 생성
-            CurrentAppUsage newAppUsage = CurrentAppUsage.create(
-                request.groupId(),
+        // 3. 기존 사용량 일괄 조회 (값이 커지지 않는 날짜는 쓰기 생략)
+        Map<LocalDate, ScreenTimeDailyUsage> previousMap = new HashMap<>();
+        if (!merged.isEmpty()) {
+            usageQueryRepository.findByUserIdAndDates(userId, merged.keySet())
+                .forEach(usage -> previousMap.put(usage.getDateAsLocalDate(), usage));
+        }
+
+        // 4. 값이 커지는 날짜만 upsert
+        // 변화분은 findAndModify 가 돌려준 갱신 직전 값 기준 → 조회 이후 들어온 업로드와 중복 반영되지 않음
+        List<ScreenTimeUpdateReq> changed = merged.entrySet().stream()
+            .filter(e -> isIncreased(e.getValue(), previousMap.get(e.getKey())))
+            .map(Map.Entry::getValue)
+            .collect(Collectors.toList());
+        List<UsageDelta> deltas = new ArrayList<>();
+        for (ScreenTimeUpdateReq entry : changed) {
+            ScreenTimeDailyUsage previous = usageQueryRepository.upsertMax(userId, entry.date(),
+                entry.totalMinutes(), entry.youtubeMinutes() != null ? entry.youtubeMinutes() : 0);
+            previousMap.put(entry.date(), previous);
+            UsageDelta delta = toDelta(entry, previous);
+            if (delta.totalMinutes() > 0 || delta.youtubeMinutes() > 0) {
+                deltas.add(delta);
+            }
+        }
+
+        // 4-1. 챌린지 누적값에 날짜별 변화분 반영
+        challengeTotalQueryRepository.bulkApplyDeltas(userId, deltas);
+        deltas.forEach(delta -> {
+            weeklyLeaderboard.record(userId, delta.date(), delta.youtubeMinutes());
+            ScreenTimeDailyUsage previous = previousMap.get(delta.date());
+            recordHourly(userId, delta.date(), previous != null ? previous.getLastUpdatedAt() : null,
+                delta.totalMinutes(), delta.youtubeMinutes());
+        });
+        if (!deltas.isEmpty()) {
+            rankingVersions.bumpUser(userId);
+        }
+
+        // 5. Snapshot insertMany (날짜별 1건)
+        List<ScreenTimeSnapshot> snapshots = merged.values().stream()
+            .map(entry -> ScreenTimeSnapshot.create(
+                entry.groupId(),
                 userId,
-                request.appPackage(),
-                request.appName()
-            );
-            currentAppUsageRepository.save(newAppUsage);
-            log.info("  ✅ 현재 앱 정보 생성 완료 - userId: {}, appName: {}", userId, request.appName());
-        } else {
-            // 기존 데이터 업데이트
-            existing.update(request.appPackage(), request.appName());
-            currentAppUsageRepository.save(existing);
-            log.info("  ✅ 현재 앱 정보 업데이트 완료 - userId: {}, appName: {}", userId, request.appName());
+                entry.date(),
+                entry.totalMinutes(),
+                entry.youtubeMinutes()
+            ))
+            .collect(Collectors.toList());
+        if (!snapshots.isEmpty()) {
+            snapshotRepository.saveAll(snapshots);
+        }
+
+        // 6. 항목별 결과 (요청 순서 유지)
+        List<ScreenTimeUpdateRes> results = entries.stream()
+            .map(entry -> {
+                if (!accepted.test(entry)) {
+                    return ScreenTimeUpdateRes.of(entry.groupId(), userId, entry.date(),
+                        entry.totalMinutes(), entry.youtubeMinutes(), "group_not_found");
+                }
+                ScreenTimeUpdateReq applied = merged.get(entry.date());
+                ScreenTimeDailyUsage previous = previousMap.get(entry.date());
+
+                int totalMinutes = applied.totalMinutes();
+                int youtubeMinutes = applied.youtubeMinutes() != null ? applied.youtubeMinutes() : 0;
+                String status;
+                if (previous == null) {
+                    status = "created";
+                } else {
+                    status = isIncreased(applied, previous) ? "updated" : "unchanged";
+                    totalMinutes = Math.max(totalMinutes, previous.getTotalMinutes() != null ? previous.getTotalMinutes() : 0);
+                    youtubeMinutes = Math.max(youtubeMinutes, previous.getYoutubeMinutes() != null ? previous.getYoutubeMinutes() : 0);
+                }
+                return ScreenTimeUpdateRes.of(entry.groupId(), userId, entry.date(),
+                    totalMinutes, youtubeMinutes, status);
+            })
+            .collect(Collectors.toList());
+
+        log.info("스크린타임 일괄 갱신 완료 - userId: {}, entries: {}, upserts: {}, snapshots: {}",
+            userId, entries.size(), changed.size(), snapshots.size());
+
+        return ScreenTimeBatchUpdateRes.of(results);
+    }
+
+    /**
+     * 같은 날짜 항목 병합 - 필드별 최대값
+     */
+    private ScreenTimeUpdateReq maxOf(ScreenTimeUpdateReq a, ScreenTimeUpdateReq b) {
+        int youtubeA = a.youtubeMinutes() != null ? a.youtubeMinutes() : 0;
+        int youtubeB = b.youtubeMinutes() != null ? b.youtubeMinutes() : 0;
+        return new ScreenTimeUpdateReq(
+            a.groupId(),
+            a.date(),
+            Math.max(a.totalMinutes(), b.totalMinutes()),
+            Math.max(youtubeA, youtubeB),
+            null
+        );
+    }
+
+    /**
+     * 기존 사용량 대비 값이 커지는지 여부 (없으면 신규 생성이므로 true)
+     */
+    private boolean isIncreased(ScreenTimeUpdateReq entry, ScreenTimeDailyUsage previous) {
+        if (previous == null) {
+            return true;
+        }
+        int previousTotal = previous.getTotalMinutes() != null ? previous.getTotalMinutes() : 0;
+        int previousYoutube = previous.getYoutubeMinutes() != null ? previous.getYoutubeMinutes() : 0;
+        int youtubeMinutes = entry.youtubeMinutes() != null ? entry.youtubeMinutes() : 0;
+        return entry.totalMinutes() > previousTotal || youtubeMinutes > previousYoutube;
+    }
+
+    /**
+     * 기존 사용량 대비 변화분 ($max 시맨틱이므로 음수가 되지 않음)
+     */
+    private UsageDelta toDelta(ScreenTimeUpdateReq entry, ScreenTimeDailyUsage previous) {
+        int previousTotal = previous != null && previous.getTotalMinutes() != null ? previous.getTotalMinutes() : 0;
+        int previousYoutube = previous != null && previous.getYoutubeMinutes() != null ? previous.getYoutubeMinutes() : 0;
+        int youtubeMinutes = entry.youtubeMinutes() != null ? entry.youtubeMinutes() : 0;
+        return new UsageDelta(
+            entry.date(),
+            Math.max(entry.totalMinutes() - previousTotal, 0),
+            Math.max(youtubeMinutes - previousYoutube, 0)
+        );
+    }
+
+    /**
+     * 시간대별 사용량 반영
+     * 이전 업로드(값이 마지막으로 커진 시각) 이후 증가분을 지금까지 걸친 시간대에 비례 배분
+     * - 오늘(서비스 시간대) 사용량만 반영: 지난 날짜 업로드는 사용 시각을 알 수 없으므로
+     *   ScreenTimeHourlyRollupJob 이 Snapshot 기준으로 재계산
+     *
+     * @param previousAt 이전 갱신 시각 (저장된 값, 서버 시간대)
+     */
+    private void recordHourly(Long userId, LocalDate date, LocalDateTime previousAt, int totalDelta, int youtubeDelta) {
+        if (totalDelta <= 0 && youtubeDelta <= 0) {
+            return;
+        }
+        LocalDateTime now = screenTimeZone.now();
+        if (!date.equals(now.toLocalDate())) {
+            return;
         }
+        LocalDateTime from = screenTimeZone.toServiceTime(previousAt);
+        hourlyUsageQueryRepository.incrementDay(userId, date,
+            HourlyDistribution.spread(date, from, now, totalDelta),
+            HourlyDistribution.spread(date, from, now, youtubeDelta));
+    }
+
+    /**
+     * 현재 사용 중인 앱 정보 갱신
+     * 메모리 presence 레지스트리에 저장 (current_app_usage 는 주기적으로 bulk upsert)
+     * 사용자별 앱 사용 구간 타임라인에도 기록 (AppTimelineRecorder)
+     * 안드로이드 앱에서 포그라운드 앱이 변경될 때마다 호출
+     */
+    public void updateCurrentApp(Long userId, UpdateCurrentAppReq request) {
+        log.debug("📱 현재 앱 정보 갱신 - userId: {}, groupId: {}, appPackage: {}, appName: {}",
+            userId, request.groupId(), request.appPackage(), request.appName());
+
+        // 메모리 presence 갱신 (랭킹 버전 / 스트림 알림은 debounce 후, current_app_usage 는 write-behind)
+        presenceRegistry.update(request.groupId(), userId, request.appPackage(), request.appName());
+        // 사용자별 앱 사용 구간 (run-length, 닫힌 구간만 주기적으로 저장)
+        appTimelineRecorder.record(userId, request.appPackage(), request.appName());
     }
 
 
@@ -166,135 +482,288 @@ public class ScreenTimeService {
      */
     @Transactional(readOnly = true)
     public GroupRankingRes getGroupRanking(Long groupId, Long currentUserId) {
-        log.info("📊 랭킹 조회 시작 - groupId: {}, currentUserId: {}", groupId, currentUserId);
+        Timer.Sample sample = metrics.start();
+        try {
+            return computeGroupRanking(groupId, currentUserId);
+        } finally {
+            metrics.recordRanking(sample, ScreenTimeMetrics.RANKING_LIVE);
+        }
+    }
+
+    private GroupRankingRes computeGroupRanking(Long groupId, Long currentUserId) {
+        log.debug("📊 랭킹 조회 시작 - groupId: {}, currentUserId: {}", groupId, currentUserId);
 
-        // 그룹 정보 조회
-        GroupChallenge group = groupChallengeRepository.findById(groupId)
+        // 그룹 정보 조회 (메타데이터 캐시)
+        GroupChallengeMeta group = groupChallengeMetaCache.get(groupId)
             .orElseThrow(GroupNotFoundException::new);
 
-        LocalDate startDate = group.getStartDate();
-        LocalDate endDate = group.getEndDate();
-        LocalDate today = LocalDate.now();
+        LocalDate startDate = group.startDate();
+        LocalDate endDate = group.endDate();
 
-        // 그룹 정보 구성
-        Integer daysElapsed = 0;
-        Integer daysTotal = 0;
-        Double progressPercentage = 0.0;
+        // 참여자 목록 조회
+        List<GroupParticipant> participants = groupParticipantRepository
+            .findAllByIdGroup(groupChallengeRepository.getReferenceById(groupId));
+
+        // 참여자별 챌린지 누적값 조회 (챌린지 기간과 무관하게 참여자당 1건)
+        List<Long> participantIds = participants.stream()
+            .map(p -> p.getId().getUser().getId())
+            .collect(Collectors.toList());
+        rankingVersions.registerMembers(groupId, participantIds);
+        List<ScreenTimeChallengeTotal> totals = loadChallengeTotals(groupId, startDate, endDate, participantIds,
+            challengeTotalQueryRepository.findByGroupId(groupId));
+
+        log.debug("📊 챌린지 누적값 조회 결과 - groupId: {}, startDate: {}, endDate: {}, totals.size: {}",
+            groupId, startDate, endDate, totals.size());
+
+        // 메모리 presence 에서 현재 앱 정보 조회 (만료되지 않은 항목만)
+        Map<Long, Presence> currentAppMap = presenceRegistry.getGroupPresence(groupId);
+
+        log.debug("📱 현재 앱 정보 조회 결과 - count: {}", currentAppMap.size());
+
+        // 참여자 장착 코스튬 일괄 조회 (캐시, 참여자 수와 무관하게 조회 횟수 고정)
+        Map<Long, EquippedCostume> costumes = equippedCostumeCache.getEquippedCostumes(participantIds);
+
+        List<GroupRankingRes.ParticipantRank> rankings = rankingFromTotals(
+            group, participants, totals, currentUserId, currentAppMap, costumes);
+
+        log.debug("📊 최종 랭킹 (YouTube 시간 기준): {}", rankings);
+
+        return GroupRankingRes.of(rankings);
+    }
 
-        if (startDate != null && endDate != null) {
-            daysTotal = (int) ChronoUnit.DAYS.between(startDate, endDate.plusDays(1));
+    /**
+     * 여러 그룹 챌린지 랭킹 일괄 조회 (대시보드용)
+     * - 그룹 메타데이터 / 참여자 / 챌린지 누적값을 저장소별로 한 번씩 $in 조회
+     * - 코스튬은 전체 그룹 참여자 합집합으로 한 번 조회 (여러 그룹에 속한 사용자는 한 번만)
+     * - 누적값 재계산이 필요한 그룹만 개별 재계산
+     * - 존재하지 않는 그룹은 결과에서 제외, 요청 순서 유지
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, GroupRankingRes> getGroupRankings(Collection<Long> groupIds, Long currentUserId) {
+        Timer.Sample sample = metrics.start();
+        try {
+            return computeGroupRankings(groupIds, currentUserId);
+        } finally {
+            metrics.recordRanking(sample, ScreenTimeMetrics.RANKING_BATCH);
+        }
+    }
+
+    private Map<Long, GroupRankingRes> computeGroupRankings(Collection<Long> groupIds, Long currentUserId) {
+        Map<Long, GroupChallengeMeta> groups = groupChallengeMetaCache.getAll(new LinkedHashSet<>(groupIds));
+        if (groups.isEmpty()) {
+            return Map.of();
+        }
 
-            if (today.isBefore(startDate)) {
-                daysElapsed = 0;
-            } else if (today.isAfter(endDate)) {
-                daysElapsed = daysTotal;
-            } else {
-                daysElapsed = (int) ChronoUnit.DAYS.between(startDate, today) + 1;
+        Map<Long, List<GroupParticipant>> participantsByGroup =
+            groupParticipantRankingQueryRepository.findAllWithUserByGroupIds(groups.keySet());
+        Map<Long, List<ScreenTimeChallengeTotal>> totalsByGroup =
+            challengeTotalQueryRepository.findByGroupIds(groups.keySet());
+
+        Set<Long> allUserIds = participantsByGroup.values().stream()
+            .flatMap(List::stream)
+            .map(p -> p.getId().getUser().getId())
+            .collect(Collectors.toSet());
+        Map<Long, EquippedCostume> costumes = equippedCostumeCache.getEquippedCostumes(allUserIds);
+
+        Map<Long, GroupRankingRes> result = new LinkedHashMap<>();
+        for (Long groupId : groupIds) {
+            GroupChallengeMeta group = groups.get(groupId);
+            if (group == null || result.containsKey(groupId)) {
+                continue;
             }
+            List<GroupParticipant> participants = participantsByGroup.getOrDefault(groupId, List.of());
+            List<Long> participantIds = participants.stream()
+                .map(p -> p.getId().getUser().getId())
+                .toList();
+            rankingVersions.registerMembers(groupId, participantIds);
+
+            List<ScreenTimeChallengeTotal> totals = loadChallengeTotals(groupId, group.startDate(), group.endDate(),
+                participantIds, totalsByGroup.getOrDefault(groupId, List.of()));
 
-            progressPercentage = daysTotal > 0 ? (daysElapsed * 100.0 / daysTotal) : 0.0;
+            result.put(groupId, GroupRankingRes.of(rankingFromTotals(
+                group, participants, totals, currentUserId, presenceRegistry.getGroupPresence(groupId), costumes)));
         }
 
-        // 참여자 목록 조회
-        List<GroupParticipant> participants = groupParticipantRepository.findAllByIdGroup(group);
-        long participantCount = participants.size();
+        log.debug("📊 일괄 랭킹 조회 - requested: {}, found: {}, users: {}",
+            groupIds.size(), result.size(), allUserIds.size());
 
-        // Summary 데이터 조회 (챌린지 기간 내)
-        List<ScreenTimeDailySummary> summaries = summaryRepository
-            .findByGroupIdAndDateBetween(groupId, startDate.toString(), endDate.toString());
+        return result;
+    }
 
-        log.info("📊 Summary 조회 결과 - groupId: {}, startDate: {}, endDate: {}, summaries.size: {}",
-            groupId, startDate, endDate, summaries.size());
+    /**
+     * 챌린지 누적값 기준 참여자 랭킹 구성
+     * - 누적값이 없는 참여자는 0분으로 취급 (기존 랭킹과 동일)
+     */
+    private List<GroupRankingRes.ParticipantRank> rankingFromTotals(
+        GroupChallengeMeta group,
+        List<GroupParticipant> participants,
+        List<ScreenTimeChallengeTotal> totals,
+        Long currentUserId,
+        Map<Long, Presence> currentAppMap,
+        Map<Long, EquippedCostume> costumes
+    ) {
+        // 사용자별 누적 스크린타임
+        Map<Long, Integer> userTotalTime = new HashMap<>();
+        Map<Long, Integer> userYoutubeTime = new HashMap<>();
 
-        for (ScreenTimeDailySummary s : summaries) {
-            log.info("  - userId: {}, date: {}, totalMinutes: {}, youtubeMinutes: {}",
-                s.getUserId(), s.getDate(), s.getTotalMinutes(), s.getYoutubeMinutes());
+        for (ScreenTimeChallengeTotal total : totals) {
+            Long userId = total.getUserId();
+            userTotalTime.put(userId, total.getTotalMinutes() != null ? total.getTotalMinutes() : 0);
+            userYoutubeTime.put(userId, total.getYoutubeMinutes() != null ? total.getYoutubeMinutes() : 0);
         }
 
-        // MongoDB에서 현재 앱 정보 조회 (실시간 업데이트)
-        List<CurrentAppUsage> currentApps = currentAppUsageRepository.findAllByGroupId(groupId);
-        Map<Long, CurrentAppUsage> currentAppMap = currentApps.stream()
-            .collect(Collectors.toMap(CurrentAppUsage::getUserId, app -> app));
+        log.debug("📊 집계된 사용자별 총 스크린타임: {}, YouTube 시간: {}", userTotalTime, userYoutubeTime);
+
+        return buildRankings(
+            group, participants, userTotalTime, userYoutubeTime,
+            daysElapsed(group.startDate(), group.endDate(), LocalDate.now()), currentUserId, currentAppMap, costumes
+        );
+    }
 
-        log.info("📱 현재 앱 정보 조회 결과 - count: {}", currentApps.size());
-        for (CurrentAppUsage app : currentApps) {
-            log.info("  - userId: {}, appName: {}, appPackage: {}, lastUpdated: {}",
-                app.getUserId(), app.getAppName(), app.getAppPackage(), app.getLastUpdatedAt());
+    /**
+     * 특정 시각 기준 그룹 챌린지 랭킹 조회 (베팅 결과 확인용)
+     * - 참여자별로 날짜마다 at 이전 마지막 Snapshot 값을 챌린지 기간 동안 합산
+     * - Snapshot 보관 기간이 지난 날짜는 아카이브 세그먼트에서 읽음
+     * - 정렬은 현재 랭킹과 동일 (YouTube → 총 스크린타임 → userId), 현재 앱 정보는 비움
+     * - 참여자 / 베팅 코인 / 코스튬은 현재 값 기준
+     */
+    @Transactional(readOnly = true)
+    public GroupRankingRes getGroupRankingAt(Long groupId, Long currentUserId, LocalDateTime at) {
+        Timer.Sample sample = metrics.start();
+        try {
+            return computeGroupRankingAt(groupId, currentUserId, at);
+        } finally {
+            metrics.recordRanking(sample, ScreenTimeMetrics.RANKING_AT);
         }
+    }
+
+    private GroupRankingRes computeGroupRankingAt(Long groupId, Long currentUserId, LocalDateTime at) {
+        GroupChallengeMeta group = groupChallengeMetaCache.get(groupId)
+            .orElseThrow(GroupNotFoundException::new);
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime asOf = at.isAfter(now) ? now : at;
+        LocalDate startDate = group.startDate();
+        LocalDate endDate = group.endDate();
+
+        List<GroupParticipant> participants = groupParticipantRepository
+            .findAllByIdGroup(groupChallengeRepository.getReferenceById(groupId));
+        List<Long> participantIds = participants.stream()
+            .map(p -> p.getId().getUser().getId())
+            .toList();
+
+        Map<Long, UsageAsOf> usage = startDate != null && endDate != null
+            ? loadUsageAsOf(participantIds, startDate, endDate, asOf)
+            : Map.of();
 
-        // 사용자별 총 스크린타임 집계
         Map<Long, Integer> userTotalTime = new HashMap<>();
         Map<Long, Integer> userYoutubeTime = new HashMap<>();
+        usage.forEach((userId, value) -> {
+            userTotalTime.put(userId, value.totalMinutes());
+            userYoutubeTime.put(userId, value.youtubeMinutes());
+        });
+
+        List<GroupRankingRes.ParticipantRank> rankings = buildRankings(
+            group, participants, userTotalTime, userYoutubeTime,
+            daysElapsed(startDate, endDate, asOf.toLocalDate()), currentUserId, Map.of(),
+            equippedCostumeCache.getEquippedCostumes(participantIds)
+        );
 
-        for (ScreenTimeDailySummary summary : summaries) {
-            Long userId = summary.getUserId();
+        log.info("📊 시점 랭킹 조회 - groupId: {}, at: {}, participants: {}", groupId, asOf, participants.size());
 
-            // totalMinutes 집계
-            Integer totalMinutes = summary.getTotalMinutes();
-            if (totalMinutes == null) {
-                totalMinutes = 0;
-            }
-            userTotalTime.merge(userId, totalMinutes, Integer::sum);
+        return GroupRankingRes.of(rankings);
+    }
 
-            // youtubeMinutes 집계
-            Integer youtubeMinutes = summary.getYoutubeMinutes();
-            if (youtubeMinutes == null) {
-                youtubeMinutes = 0;
+    /**
+     * 시각 at 기준 참여자별 챌린지 기간 누적 사용량
+     * - 아카이브된 날짜는 세그먼트에서, 나머지는 Snapshot 컬렉션에서 조회
+     */
+    private Map<Long, UsageAsOf> loadUsageAsOf(List<Long> userIds, LocalDate startDate, LocalDate endDate,
+        LocalDateTime at) {
+        LocalDate lastDate = endDate.isBefore(at.toLocalDate()) ? endDate : at.toLocalDate();
+        List<LocalDate> archivedDates = snapshotArchive.archivedDates().stream()
+            .filter(date -> !date.isBefore(startDate) && !date.isAfter(lastDate))
+            .toList();
+
+        Map<Long, UsageAsOf> usage = snapshotQueryRepository.sumUsageAsOf(
+            userIds, startDate, lastDate, at, archivedDates);
+
+        for (LocalDate date : archivedDates) {
+            for (Long userId : userIds) {
+                int total = 0;
+                int youtube = 0;
+                for (ArchivedSnapshot snapshot : snapshotArchive.readUser(date, userId)) {
+                    if (snapshot.recordedAt().isAfter(at)) {
+                        break;
+                    }
+                    total = Math.max(total, Objects.requireNonNullElse(snapshot.screenTimeMinutes(), 0));
+                    youtube = Math.max(youtube, Objects.requireNonNullElse(snapshot.youtubeMinutes(), 0));
+                }
+                if (total > 0 || youtube > 0) {
+                    int dayTotal = total;
+                    int dayYoutube = youtube;
+                    usage.merge(userId, new UsageAsOf(dayTotal, dayYoutube),
+                        (previous, ignored) -> previous.plus(dayTotal, dayYoutube));
+                }
             }
-            userYoutubeTime.merge(userId, youtubeMinutes, Integer::sum);
         }
+        return usage;
+    }
 
-        log.info("📊 집계된 사용자별 총 스크린타임: {}", userTotalTime);
-        log.info("📊 집계된 사용자별 YouTube 시간: {}", userYoutubeTime);
-
-        // 참여자별 베팅 코인 정보
-        Map<Long, Integer> userBetCoins = participants.stream()
-            .collect(Collectors.toMap(
-                p -> p.getId().getUser().getId(),
-                GroupParticipant::getBetCoins
-            ));
+    /**
+     * 챌린지 경과일 (기간이 정해지지 않았으면 0)
+     */
+    private int daysElapsed(LocalDate startDate, LocalDate endDate, LocalDate day) {
+        if (startDate == null || endDate == null || day.isBefore(startDate)) {
+            return 0;
+        }
+        if (day.isAfter(endDate)) {
+            return (int) ChronoUnit.DAYS.between(startDate, endDate.plusDays(1));
+        }
+        return (int) ChronoUnit.DAYS.between(startDate, day) + 1;
+    }
 
+    /**
+     * 참여자 랭킹 응답 구성 (정렬은 RANKING_ORDER 공통)
+     *
+     * @param costumes 참여자 장착 코스튬 (일괄 조회 결과)
+     */
+    private List<GroupRankingRes.ParticipantRank> buildRankings(
+        GroupChallengeMeta group,
+        List<GroupParticipant> participants,
+        Map<Long, Integer> userTotalTime,
+        Map<Long, Integer> userYoutubeTime,
+        int daysElapsed,
+        Long currentUserId,
+        Map<Long, Presence> currentAppMap,
+        Map<Long, EquippedCostume> costumes
+    ) {
         // 랭킹 계산 (YouTube 사용시간 적은 순)
-        final int finalDaysElapsed = daysElapsed;
         AtomicInteger rankCounter = new AtomicInteger(1);
-        List<GroupRankingRes.ParticipantRank> rankings = participants.stream()
-            .map(participant -> {
-                Long uid = participant.getId().getUser().getId();
-                String nickname = participant.getId().getUser().getNickname();
-                Integer totalMinutes = userTotalTime.getOrDefault(uid, 0);
-                Integer youtubeMinutes = userYoutubeTime.getOrDefault(uid, 0);
-                Integer betCoins = userBetCoins.getOrDefault(uid, 0);
-
-                return Map.entry(uid, new RankingData(nickname, totalMinutes, youtubeMinutes, betCoins));
-            })
-            .sorted(Map.Entry.comparingByValue()) // RankingData의 Comparable 사용 (YouTube 시간 기준)
+        return rankParticipants(participants, userTotalTime, userYoutubeTime).stream()
             .map(entry -> {
                 Long uid = entry.getKey();
                 RankingData data = entry.getValue();
 
                 int rank = rankCounter.getAndIncrement();
-                double avgTotalMinutes = finalDaysElapsed > 0 ? data.totalMinutes / (double) finalDaysElapsed : 0.0;
-                double avgYoutubeMinutes = finalDaysElapsed > 0 ? data.youtubeMinutes / (double) finalDaysElapsed : 0.0;
+                double avgTotalMinutes = daysElapsed > 0 ? data.totalMinutes / (double) daysElapsed : 0.0;
+                double avgYoutubeMinutes = daysElapsed > 0 ? data.youtubeMinutes / (double) daysElapsed : 0.0;
 
                 // 1등은 총 베팅 코인을 모두 가져감
-                Integer potentialPrize = (rank == 1) ? group.getTotalBetCoins() : 0;
-
-                // MongoDB에서 현재 앱 정보 조회 (실시간)
-                CurrentAppUsage currentApp = currentAppMap.get(uid);
-                String currentAppPackage = currentApp != null ? currentApp.getAppPackage() : null;
-                String currentAppName = currentApp != null ? currentApp.getAppName() : null;
-                // 장착된 코스튬 아이템 ID 조회 + 이미지 url 조회
-                Integer costumeItemId = null;
-                String costumeImageUrl = null;
-                UserItem equippedCostume = userItemQueryRepository.getEquippedItem(uid, Type.COSTUME);
-                if (equippedCostume != null) {
-                    Long itemId = equippedCostume.getId().getItem().getId();
-                    costumeItemId = itemId != null ? itemId.intValue() : null;
-                    String baseImageUrl = equippedCostume.getId().getItem().getImgUrl();
-                    costumeImageUrl = costumeUrlUtil.getCostumeUrl(baseImageUrl, uid, false);
+                Integer potentialPrize = (rank == 1) ? group.totalBetCoins() : 0;
+
+                // 현재 앱 정보 (메모리 presence)
+                Presence currentApp = currentAppMap.get(uid);
+                String currentAppPackage = currentApp != null ? currentApp.appPackage() : null;
+                String currentAppName = currentApp != null ? currentApp.appName() : null;
+                // 장착된 코스튬 아이템 ID + 이미지 url (일괄 조회 결과)
+                EquippedCostume costume = costumes.get(uid);
+                Integer costumeItemId = costume != null ? costume.itemId() : null;
+                String costumeImageUrl = costume != null ? costume.imageUrl() : null;
+                if (log.isDebugEnabled()) {
+                    log.debug("  - 랭킹 {}위: userId={}, nickname={}, costumeUrl={}, youtubeMinutes={}, avgYoutubeMinutes={}m, currentApp={}",
+                        rank, uid, data.nickname, costumeImageUrl, data.youtubeMinutes, (int) avgYoutubeMinutes, currentAppName);
                 }
-                log.info("  - 랭킹 {}위: userId={}, nickname={}, costumeUrl={}, youtubeMinutes={}, avgYoutubeMinutes={}m, currentApp={}",
-                    rank, uid, data.nickname, costumeImageUrl,data.youtubeMinutes, (int)avgYoutubeMinutes, currentAppName);
 
                 return GroupRankingRes.ParticipantRank.of(
                     rank,
@@ -312,10 +781,91 @@ public class ScreenTimeService {
                 );
             })
             .collect(Collectors.toList());
+    }
 
-        log.info("📊 최종 랭킹 (YouTube 시간 기준): {}", rankings);
+    /**
+     * 참여자별 랭킹 데이터를 RANKING_ORDER 로 정렬 (사용량이 없는 참여자는 0분)
+     */
+    private List<Map.Entry<Long, RankingData>> rankParticipants(
+        List<GroupParticipant> participants,
+        Map<Long, Integer> userTotalTime,
+        Map<Long, Integer> userYoutubeTime
+    ) {
+        return participants.stream()
+            .map(participant -> {
+                Long uid = participant.getId().getUser().getId();
+                String nickname = participant.getId().getUser().getNickname();
+                Integer totalMinutes = userTotalTime.getOrDefault(uid, 0);
+                Integer youtubeMinutes = userYoutubeTime.getOrDefault(uid, 0);
+                Integer betCoins = Objects.requireNonNullElse(participant.getBetCoins(), 0);
 
-        return GroupRankingRes.of(rankings);
+                return Map.entry(uid, new RankingData(nickname, totalMinutes, youtubeMinutes, betCoins));
+            })
+            .sorted(RANKING_ORDER)
+            .toList();
+    }
+
+    /**
+     * 랭킹 스트림용 순위 목록 (REST 랭킹과 같은 참여자 / 누적값 / 정렬 기준)
+     * - 그룹이 없으면 빈 목록
+     */
+    @Transactional(readOnly = true)
+    public List<RankingStreamEvent.RankChange> getRankChanges(Long groupId) {
+        Optional<GroupChallengeMeta> group = groupChallengeMetaCache.get(groupId);
+        if (group.isEmpty()) {
+            return List.of();
+        }
+
+        List<GroupParticipant> participants = groupParticipantRepository
+            .findAllByIdGroup(groupChallengeRepository.getReferenceById(groupId));
+        List<Long> participantIds = participants.stream()
+            .map(p -> p.getId().getUser().getId())
+            .toList();
+        List<ScreenTimeChallengeTotal> totals = loadChallengeTotals(groupId, group.get().startDate(),
+            group.get().endDate(), participantIds, challengeTotalQueryRepository.findByGroupId(groupId));
+
+        Map<Long, Integer> userTotalTime = new HashMap<>();
+        Map<Long, Integer> userYoutubeTime = new HashMap<>();
+        for (ScreenTimeChallengeTotal total : totals) {
+            userTotalTime.put(total.getUserId(), Objects.requireNonNullElse(total.getTotalMinutes(), 0));
+            userYoutubeTime.put(total.getUserId(), Objects.requireNonNullElse(total.getYoutubeMinutes(), 0));
+        }
+
+        List<Map.Entry<Long, RankingData>> ranked = rankParticipants(participants, userTotalTime, userYoutubeTime);
+        List<RankingStreamEvent.RankChange> ranks = new ArrayList<>(ranked.size());
+        for (Map.Entry<Long, RankingData> entry : ranked) {
+            ranks.add(RankingStreamEvent.RankChange.of(entry.getKey(), ranks.size() + 1,
+                entry.getValue().youtubeMinutes(), entry.getValue().totalMinutes()));
+        }
+        return ranks;
+    }
+
+    /**
+     * 그룹 챌린지 누적값 조회 (순서 없음, 랭킹 정렬은 rankParticipants)
+     * - 참여자 누락(신규 참여) 또는 챌린지 기간 변경 시 원본 기준으로 계산한 값 반환 (저장하지 않음)
+     *   저장된 누적값 재계산은 ScreenTimeChallengeTotalRebuildJob 에 비동기로 요청 → 읽기 전용 트랜잭션에서 쓰기 없음
+     * - 챌린지 기간이 정해지지 않은 그룹은 빈 목록
+     *
+     * @param totals 이미 조회한 그룹 누적값
+     */
+    private List<ScreenTimeChallengeTotal> loadChallengeTotals(Long groupId, LocalDate startDate,
+        LocalDate endDate, List<Long> participantIds, List<ScreenTimeChallengeTotal> totals) {
+        if (startDate == null || endDate == null) {
+            return List.of();
+        }
+
+        Set<Long> loadedUserIds = totals.stream()
+            .filter(total -> total.matchesWindow(startDate, endDate))
+            .map(ScreenTimeChallengeTotal::getUserId)
+            .collect(Collectors.toSet());
+        if (totals.size() == participantIds.size() && loadedUserIds.containsAll(participantIds)) {
+            return totals;
+        }
+
+        log.info("📊 챌린지 누적값 재계산 요청 - groupId: {}, participants: {}, loaded: {}",
+            groupId, participantIds.size(), loadedUserIds.size());
+        challengeTotalRebuildJob.rebuildAsync(groupId, startDate, endDate, participantIds);
+        return challengeTotalQueryRepository.computeTotals(groupId, startDate, endDate, participantIds);
     }
 
     /**
@@ -335,8 +885,7 @@ public class ScreenTimeService {
     }
 
     /**
-     * 랭킹 정렬을 위한 내부 데이터 클래스
-     * YouTube 사용시간 기준으로 정렬
+     * 랭킹 응답 구성을 위한 내부 데이터 클래스
      */
     private record RankingData(String nickname, int totalMinutes, int youtubeMinutes, int betCoins)
         implements Comparable<RankingData> {
@@ -357,14 +906,11 @@ public class ScreenTimeService {
 
 
     /**
-     * 특정 사용자의 특정 기간 스크린타임 조회
+     * 특정 사용자의 특정 기간 스크린타임 조회 (모든 그룹 공통)
      */
     @Transactional(readOnly = true)
-    public List<ScreenTimeDailySummary> getUserScreenTime(Long groupId, Long userId,
-        LocalDate startDate, LocalDate endDate) {
-        return summaryRepository.findByGroupIdAndUserIdAndDateBetween(
-            groupId, userId, startDate.toString(), endDate.toString()
-        );
+    public List<ScreenTimeDailyUsage> getUserScreenTime(Long userId, LocalDate startDate, LocalDate endDate) {
+        return usageQueryRepository.findByUserIdAndDays(userId, startDate, endDate);
     }
 
     /**
@@ -372,6 +918,6 @@ public class ScreenTimeService {
      */
     @Transactional(readOnly = true)
     public List<ScreenTimeSnapshot> getUserSnapshots(Long userId, LocalDate date) {
-        return snapshotRepository.findByUserIdAndDateOrderByRecordedAtDesc(userId, date);
+        return snapshotQueryRepository.findByUserIdAndDate(userId, date);
     }
 }
\ No newline at end of file
@@ -0,0 +1,178 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ScreenTimeSnapshot write-behind 버퍼
+ * - 요청 스레드는 큐에 넣기만 하고 즉시 반환 (Snapshot 은 검증/분석용이라 지연 저장 허용)
+ * - batchSize 이상 쌓이거나 flushIntervalMs 가 지나면 insertMany 로 일괄 저장
+ * - 큐가 가득 차면 offerTimeoutMs 동안 대기 (backpressure), 그래도 가득 차면 요청 스레드에서 직접 저장
+ * - 애플리케이션 종료 시 남은 Snapshot 을 모두 저장
+ * - insertMany 에 실패한 배치는 재시도 없이 버림 (screentime.snapshot.buffer.failed 로 집계)
+ */
+@Slf4j
+@Component
+public class ScreenTimeSnapshotBuffer {
+
+    private final MongoTemplate mongoTemplate;
+    private final BlockingQueue<ScreenTimeSnapshot> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "snapshot-buffer-flusher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+    private final Counter failedCounter;
+    private final Counter directWriteCounter;
+
+    public ScreenTimeSnapshotBuffer(
+        MongoTemplate mongoTemplate,
+        MeterRegistry meterRegistry,
+        @Value("${screentime.snapshot-buffer.capacity:10000}") int capacity,
+        @Value("${screentime.snapshot-buffer.batch-size:500}") int batchSize,
+        @Value("${screentime.snapshot-buffer.flush-interval-ms:1000}") long flushIntervalMs,
+        @Value("${screentime.snapshot-buffer.offer-timeout-ms:50}") long offerTimeoutMs
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+
+        Gauge.builder("screentime.snapshot.buffer.depth", queue, BlockingQueue::size)
+            .description("Snapshot write-behind 큐 대기 건수")
+            .register(meterRegistry);
+        this.flushTimer = Timer.builder("screentime.snapshot.buffer.flush")
+            .description("Snapshot insertMany 소요 시간")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.flushedCounter = Counter.builder("screentime.snapshot.buffer.flushed")
+            .description("일괄 저장된 Snapshot 수")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("screentime.snapshot.buffer.failed")
+            .description("저장에 실패한 Snapshot 수")
+            .register(meterRegistry);
+        this.directWriteCounter = Counter.builder("screentime.snapshot.buffer.direct")
+            .description("큐가 가득 차 요청 스레드에서 직접 저장한 Snapshot 수")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Snapshot 을 버퍼에 추가
+     * 큐가 가득 차 있으면 offerTimeoutMs 동안 대기 후 직접 저장 (큐가 가득 차서 버리지는 않음,
+     * 큐에 들어간 Snapshot 은 일괄 저장이 실패하면 유실될 수 있음)
+     * 종료가 시작된 뒤에는 마지막 flush 이후 남지 않도록 바로 저장
+     */
+    public void add(ScreenTimeSnapshot snapshot) {
+        if (flusher.isShutdown()) {
+            directWriteCounter.increment();
+            mongoTemplate.insert(snapshot);
+            return;
+        }
+
+        boolean offered;
+        try {
+            offered = queue.offer(snapshot, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            offered = false;
+        }
+
+        if (!offered) {
+            directWriteCounter.increment();
+            mongoTemplate.insert(snapshot);
+            return;
+        }
+
+        // 확인 이후 종료가 시작되어 마지막 flush 가 이미 큐를 비웠을 수 있음 → 요청 스레드에서 비움
+        if (flusher.isShutdown()) {
+            flushSafely();
+            return;
+        }
+
+        if (queue.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            try {
+                flusher.execute(this::flushSafely);
+            } catch (RejectedExecutionException e) {
+                // isShutdown 확인 직후 종료된 경우 → 요청 스레드에서 바로 저장
+                flushSafely();
+            }
+        }
+    }
+
+    /**
+     * 종료 시 남은 Snapshot 모두 저장
+     */
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(5, TimeUnit.SECONDS)) {
+                flusher.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        log.info("Snapshot 버퍼 종료 - 잔여 Snapshot 저장 완료");
+    }
+
+    private void flushSafely() {
+        flushRequested.set(false);
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("Snapshot 버퍼 flush 중 예외 발생", e);
+        }
+    }
+
+    /**
+     * 큐를 batchSize 단위로 비우며 insertMany
+     * 실패한 배치는 재시도하지 않음 (Snapshot 은 검증/분석 보조 데이터)
+     */
+    private void flush() {
+        List<ScreenTimeSnapshot> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                flushTimer.record(() -> mongoTemplate.insert(batch, ScreenTimeSnapshot.class));
+                flushedCounter.increment(batch.size());
+            } catch (Exception e) {
+                failedCounter.increment(batch.size());
+                log.error("Snapshot 일괄 저장 실패 - count: {}", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+}
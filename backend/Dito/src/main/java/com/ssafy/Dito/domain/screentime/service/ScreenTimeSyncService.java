@@ -0,0 +1,120 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeDailyUsage;
+import com.ssafy.Dito.domain.screentime.dto.request.ScreenTimeBatchUpdateReq;
+import com.ssafy.Dito.domain.screentime.dto.request.ScreenTimeSyncReq;
+import com.ssafy.Dito.domain.screentime.dto.response.ScreenTimeSyncRes;
+import com.ssafy.Dito.domain.screentime.dto.response.ScreenTimeSyncRes.Watermark;
+import com.ssafy.Dito.domain.screentime.dto.response.ScreenTimeUpdateRes;
+import com.ssafy.Dito.domain.screentime.exception.UnsupportedSyncVersionException;
+import com.ssafy.Dito.domain.screentime.repository.ScreenTimeDailyUsageQueryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 스크린타임 동기화 프로토콜 (v1)
+ *
+ * 1. 클라이언트가 마지막 changeToken 으로 요청 → 그 이후 서버 값이 바뀐 날짜의 워터마크 반환
+ *    (토큰이 없거나 해석할 수 없으면 windowStart 이후 전체 = fullSync)
+ * 2. 클라이언트는 워터마크를 로컬에 보관하고, 로컬(Realm) 값이 더 큰 날짜만 entries 로 전송
+ *    → 서버는 일괄 갱신 경로(bulk upsert + 변화분 반영)로 처리, 결과와 함께 새 워터마크 반환
+ * 3. 응답의 changeToken 을 저장 → 재연결 시 이미 서버에 있는 값은 다시 보내지 않음
+ *
+ * - changeToken = "{버전}.{서버 시각(ms, 36진수)}", last_updated_at(값이 커질 때만 서버 시각으로 갱신) 과 비교
+ * - 인스턴스 간 시계 차이 / 조회 중 쓰기를 놓치지 않도록 발급 시각에서 token-overlap 만큼 앞당김
+ *   (겹치는 구간의 워터마크는 중복으로 내려가지만 클라이언트 비교 결과는 같음)
+ */
+@Slf4j
+@Service
+public class ScreenTimeSyncService {
+
+    public static final int PROTOCOL_VERSION = 1;
+
+    private final ScreenTimeService screenTimeService;
+    private final ScreenTimeDailyUsageQueryRepository usageQueryRepository;
+    private final int windowDays;
+    private final Duration tokenOverlap;
+
+    public ScreenTimeSyncService(
+        ScreenTimeService screenTimeService,
+        ScreenTimeDailyUsageQueryRepository usageQueryRepository,
+        @Value("${screentime.sync.window-days:30}") int windowDays,
+        @Value("${screentime.sync.token-overlap-seconds:120}") long tokenOverlapSeconds
+    ) {
+        this.screenTimeService = screenTimeService;
+        this.usageQueryRepository = usageQueryRepository;
+        this.windowDays = windowDays;
+        this.tokenOverlap = Duration.ofSeconds(tokenOverlapSeconds);
+    }
+
+    /**
+     * 동기화 1회 - entries 반영 후 changeToken 이후 워터마크 반환
+     */
+    public ScreenTimeSyncRes sync(ScreenTimeSyncReq request, Long userId) {
+        if (!Objects.equals(request.protocolVersion(), PROTOCOL_VERSION)) {
+            throw new UnsupportedSyncVersionException();
+        }
+
+        List<ScreenTimeUpdateRes> results = List.of();
+        if (request.entries() != null && !request.entries().isEmpty()) {
+            results = screenTimeService.batchUpdateScreenTime(
+                new ScreenTimeBatchUpdateReq(request.entries()), userId).results();
+        }
+
+        // 조회 전에 다음 토큰 시각을 정해야 조회 중 갱신된 값이 다음 동기화에서 빠지지 않음
+        Instant issuedAt = Instant.now().minus(tokenOverlap);
+        LocalDateTime since = decodeToken(request.changeToken());
+        LocalDate today = LocalDate.now();
+        LocalDate windowStart = today.minusDays(windowDays - 1L);
+
+        List<Watermark> watermarks = usageQueryRepository.findChangedSince(userId, windowStart, today, since).stream()
+            .map(this::toWatermark)
+            .toList();
+
+        log.debug("🔄 스크린타임 동기화 - userId: {}, since: {}, pushed: {}, watermarks: {}",
+            userId, since, results.size(), watermarks.size());
+
+        return ScreenTimeSyncRes.of(PROTOCOL_VERSION, encodeToken(issuedAt), since == null,
+            windowStart, watermarks, results);
+    }
+
+    private Watermark toWatermark(ScreenTimeDailyUsage usage) {
+        return Watermark.of(
+            usage.getDateAsLocalDate(),
+            Objects.requireNonNullElse(usage.getTotalMinutes(), 0),
+            Objects.requireNonNullElse(usage.getYoutubeMinutes(), 0)
+        );
+    }
+
+    static String encodeToken(Instant issuedAt) {
+        return PROTOCOL_VERSION + "." + Long.toString(issuedAt.toEpochMilli(), Character.MAX_RADIX);
+    }
+
+    /**
+     * changeToken 해석 (없거나 다른 버전 / 형식 오류면 null → 전체 동기화)
+     */
+    static LocalDateTime decodeToken(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        String prefix = PROTOCOL_VERSION + ".";
+        if (!token.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            long millis = Long.parseLong(token.substring(prefix.length()), Character.MAX_RADIX);
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
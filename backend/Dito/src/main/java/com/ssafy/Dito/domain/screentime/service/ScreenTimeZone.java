@@ -0,0 +1,45 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 스크린타임 서비스 시간대 (screentime.zone, 기본 Asia/Seoul)
+ * - 사용량 날짜는 클라이언트 기준 → 오늘 / 날짜 경계 / 시간대 배분은 서버 시간대가 아닌 이 시간대로 계산
+ * - Mongo 에서 읽은 LocalDateTime 은 서버 시간대 기준이므로 toServiceTime 으로 변환해서 사용
+ */
+@Component
+public class ScreenTimeZone {
+
+    private final ZoneId zone;
+
+    public ScreenTimeZone(@Value("${screentime.zone:${screentime.anomaly.zone:Asia/Seoul}}") String zone) {
+        this.zone = ZoneId.of(zone);
+    }
+
+    public ZoneId zone() {
+        return zone;
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(zone);
+    }
+
+    public LocalDateTime now() {
+        return LocalDateTime.now(zone);
+    }
+
+    /**
+     * 서버 시간대 LocalDateTime → 서비스 시간대 (null 은 그대로)
+     */
+    public LocalDateTime toServiceTime(LocalDateTime serverTime) {
+        if (serverTime == null) {
+            return null;
+        }
+        return serverTime.atZone(ZoneId.systemDefault()).withZoneSameInstant(zone).toLocalDateTime();
+    }
+}
@@ -0,0 +1,38 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+/**
+ * 요청 스레드 단위 저장소 호출 수 (Mongo 명령 / Postgres 쿼리)
+ * - Mongo 동기 드라이버 CommandListener, Hibernate StatementInspector 는 호출한 스레드에서 실행됨
+ * - 요청 시작 시 reset, 종료 시 값을 읽어 ScreenTimeMetrics 에 기록
+ */
+public final class StoreCallCounter {
+
+    private static final ThreadLocal<int[]> COUNTS = ThreadLocal.withInitial(() -> new int[2]);
+    private static final int MONGO = 0;
+    private static final int POSTGRES = 1;
+
+    private StoreCallCounter() {
+    }
+
+    public static void reset() {
+        int[] counts = COUNTS.get();
+        counts[MONGO] = 0;
+        counts[POSTGRES] = 0;
+    }
+
+    public static void mongoCommand() {
+        COUNTS.get()[MONGO]++;
+    }
+
+    public static void postgresStatement() {
+        COUNTS.get()[POSTGRES]++;
+    }
+
+    public static int mongoCommands() {
+        return COUNTS.get()[MONGO];
+    }
+
+    public static int postgresStatements() {
+        return COUNTS.get()[POSTGRES];
+    }
+}
@@ -0,0 +1,240 @@
+package com.ssafy.Dito.domain.screentime.service;
+
+import com.ssafy.Dito.domain.screentime.document.ScreenTimeDailyUsage;
+import com.ssafy.Dito.domain.screentime.dto.response.LeaderboardRes;
+import com.ssafy.Dito.domain.screentime.exception.LeaderboardDisabledException;
+import com.ssafy.Dito.domain.screentime.repository.EpochDayCriteria;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * 전체 사용자 주간 YouTube 사용시간 리더보드 (screentime.league.enabled=true 일 때만 동작)
+ * - 이번 주(월~일) YouTube 분 합계를 메모리 order-statistic 인덱스로 유지 → Mongo 조회 없이 순위 계산
+ * - 기동 시 일별 사용량 $group 한 번으로 적재, 이후 스크린타임 갱신마다 변화분 반영
+ * - 주가 바뀌면 빈 인덱스로 시작하고 곧바로 새 주 기준 재적재 요청
+ * - 변화분이 0 인 업로드도 처음 보는 사용자는 0분으로 등록 (YouTube 를 쓰지 않은 사용자가 1위)
+ * - 주 경계는 서비스 시간대(ScreenTimeZone) 기준
+ * - 인스턴스마다 별도 인덱스이므로 rebuild-interval-minutes 간격으로 재적재해 다른 인스턴스 갱신분 반영
+ */
+@Slf4j
+@Component
+public class WeeklyLeaderboard {
+
+    private static final int MAX_WEEKLY_MINUTES = 7 * 24 * 60;
+
+    private final MongoTemplate mongoTemplate;
+    private final EpochDayCriteria epochDayCriteria;
+    private final ScreenTimeZone screenTimeZone;
+    private final boolean enabled;
+    private final long rebuildIntervalMinutes;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private ScheduledExecutorService scheduler;
+
+    private ScoreRankIndex index = new ScoreRankIndex(MAX_WEEKLY_MINUTES);
+    private LocalDate weekStart;
+
+    public WeeklyLeaderboard(
+        MongoTemplate mongoTemplate,
+        EpochDayCriteria epochDayCriteria,
+        ScreenTimeZone screenTimeZone,
+        MeterRegistry meterRegistry,
+        @Value("${screentime.league.enabled:false}") boolean enabled,
+        @Value("${screentime.league.rebuild-interval-minutes:10}") long rebuildIntervalMinutes
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.epochDayCriteria = epochDayCriteria;
+        this.screenTimeZone = screenTimeZone;
+        this.enabled = enabled;
+        this.rebuildIntervalMinutes = rebuildIntervalMinutes;
+        this.weekStart = currentWeekStart();
+
+        Gauge.builder("screentime.league.size", this, leaderboard -> leaderboard.read(() -> leaderboard.index.size()))
+            .description("주간 리더보드 사용자 수")
+            .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void loadOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "weekly-leaderboard-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(this::rebuildSafely);
+        scheduler.scheduleWithFixedDelay(this::rebuildSafely, rebuildIntervalMinutes, rebuildIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 일별 YouTube 사용시간 변화분 반영 (이번 주 날짜만, 변화분 0 이면 미등록 사용자만 0분으로 추가)
+     */
+    public void record(Long userId, LocalDate date, int youtubeDelta) {
+        if (!enabled) {
+            return;
+        }
+        rollIfWeekChanged();
+
+        lock.writeLock().lock();
+        try {
+            if (!date.isBefore(weekStart) && date.isBefore(weekStart.plusDays(7))) {
+                index.add(userId, youtubeDelta);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 상위 k 명
+     */
+    public LeaderboardRes topK(int k, Long currentUserId) {
+        checkEnabled();
+        rollIfWeekChanged();
+        return read(() -> toResponse(index.topK(k), currentUserId));
+    }
+
+    /**
+     * 내 순위 기준 앞뒤 n 명 (리더보드에 없으면 빈 목록)
+     */
+    public LeaderboardRes neighbors(Long userId, int n) {
+        checkEnabled();
+        rollIfWeekChanged();
+        return read(() -> toResponse(index.neighbors(userId, n), userId));
+    }
+
+    /**
+     * 내 순위 (1부터, 없으면 -1)
+     */
+    public int rank(Long userId) {
+        checkEnabled();
+        rollIfWeekChanged();
+        return read(() -> index.rank(userId));
+    }
+
+    /**
+     * 이번 주 일별 사용량으로 인덱스 재적재
+     * 집계 중 들어온 변화분은 다음 재적재에서 반영
+     */
+    public void rebuild() {
+        LocalDate start = currentWeekStart();
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(epochDayCriteria.usageDays(start, start.plusDays(6))),
+            Aggregation.group("user_id").sum("youtube_minutes").as("youtube_minutes")
+        );
+
+        ScoreRankIndex rebuilt = new ScoreRankIndex(MAX_WEEKLY_MINUTES);
+        for (Document row : mongoTemplate.aggregate(aggregation,
+                mongoTemplate.getCollectionName(ScreenTimeDailyUsage.class), Document.class)) {
+            Number youtubeMinutes = (Number) row.get("youtube_minutes");
+            rebuilt.put(((Number) row.get("_id")).longValue(), youtubeMinutes != null ? youtubeMinutes.intValue() : 0);
+        }
+
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+            weekStart = start;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("주간 리더보드 적재 완료 - weekStart: {}, users: {}", start, rebuilt.size());
+    }
+
+    private void rollIfWeekChanged() {
+        LocalDate current = currentWeekStart();
+        boolean changed = read(() -> !current.equals(weekStart));
+        if (!changed) {
+            return;
+        }
+
+        boolean rolled = false;
+        lock.writeLock().lock();
+        try {
+            // 새 주는 비어 있는 상태에서 시작 (기록은 곧바로 쌓이고 아래 재적재에서 보정)
+            if (!current.equals(weekStart)) {
+                index = new ScoreRankIndex(MAX_WEEKLY_MINUTES);
+                weekStart = current;
+                rolled = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (rolled && scheduler != null) {
+            try {
+                scheduler.execute(this::rebuildSafely);
+            } catch (RejectedExecutionException e) {
+                log.debug("종료 중 - 주간 리더보드 재적재 생략");
+            }
+        }
+    }
+
+    private LeaderboardRes toResponse(List<ScoreRankIndex.Entry> entries, Long currentUserId) {
+        return LeaderboardRes.of(
+            weekStart,
+            index.size(),
+            entries.stream()
+                .map(entry -> LeaderboardRes.Entry.of(
+                    entry.rank(),
+                    entry.userId(),
+                    entry.score(),
+                    currentUserId != null && currentUserId == entry.userId()))
+                .toList()
+        );
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void checkEnabled() {
+        if (!enabled) {
+            throw new LeaderboardDisabledException();
+        }
+    }
+
+    private void rebuildSafely() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("주간 리더보드 적재 실패", e);
+        }
+    }
+
+    private LocalDate currentWeekStart() {
+        return screenTimeZone.today().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+}
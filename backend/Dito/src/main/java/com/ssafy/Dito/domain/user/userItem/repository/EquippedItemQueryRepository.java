@@ -0,0 +1,50 @@
+package com.ssafy.Dito.domain.user.userItem.repository;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import com.ssafy.Dito.domain.item.entity.QItem;
+import com.ssafy.Dito.domain.item.entity.Type;
+import com.ssafy.Dito.domain.user.userItem.entity.QUserItem;
+import com.ssafy.Dito.domain.user.userItem.entity.UserItem;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class EquippedItemQueryRepository {
+
+    private final JPAQueryFactory jpaQueryFactory;
+
+    private final QUserItem userItem = QUserItem.userItem;
+    private final QItem item = QItem.item;
+
+    /**
+     * 여러 사용자의 장착 아이템을 아이템과 함께 한 번에 조회 (사용자 수와 무관하게 쿼리 1회)
+     *
+     * @return 사용자 ID → 장착 아이템 (장착하지 않은 사용자는 포함되지 않음)
+     */
+    public Map<Long, UserItem> getEquippedItems(Collection<Long> userIds, Type type) {
+        if (userIds.isEmpty()) {
+            return Map.of();
+        }
+
+        return jpaQueryFactory
+                .selectFrom(userItem)
+                .join(userItem.id.item, item).fetchJoin()
+                .where(
+                        userItem.id.user.id.in(userIds),
+                        item.type.eq(type),
+                        userItem.isEquipped.isTrue()
+                )
+                .fetch()
+                .stream()
+                .collect(Collectors.toMap(
+                        equipped -> equipped.getId().getUser().getId(),
+                        Function.identity(),
+                        (first, second) -> first
+                ));
+    }
+}